@@ -0,0 +1,499 @@
+/* Social Sim Benchmark by Moritz Bergemann
+ * Micro-benchmark harness timing the main data structures & simulation
+ *  stages (tree insert/find, list sorting, network loading, timesteps &
+ *  logging) on the 'rFiles' datasets & seeded scale-free networks (see
+ *  NetworkGenerator). Every benchmark is run a number of untimed warmup
+ *  iterations, then a number of measured iterations, each with its own
+ *  untimed setup, & the mean, error (standard deviation), minimum & a
+ *  checksum of the work done are printed.
+ *  All inputs are seeded, so the same options always time the same work.
+ *  Only benchmarks whose name or parameter contains the filter are run.
+ * Usage (from project root, with sources compiled to 'out'):
+ *  javac -d out src/*.java bench/*.java
+ *  java -Xms1g -Xmx1g -cp out SocialSimBenchmark [-w <warmups>]
+ *      [-i <iterations>] [-f <filter>] [-d <data directory>]
+ * Created Date: 17/10/2026
+ */
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.io.File;
+
+public class SocialSimBenchmark
+{
+    //CONSTANTS
+    public static final int[] TREE_SIZES = {10000, 100000}; /*Number of keys
+        inserted into/found in trees*/
+    public static final int[] LIST_SIZES = {10000, 100000}; /*Number of values
+        sorted in lists*/
+    public static final int[] SORT_THREADS = {1, 4}; /*Number of threads lists
+        are sorted with (1 for a sequential sort)*/
+    public static final String[] DATASETS = {"100U100F", "1000U1000F"};
+        /*Suffixes of 'rFiles' network files benchmarked*/
+    public static final int[] GENERATED_USERS = {5000, 20000}; /*Number of
+        users in generated networks*/
+    public static final int GENERATED_FOLLOWS = 10; /*Mean number of users
+        each generated (scale-free) user follows*/
+    public static final int POSTS = 20; /*Number of posts spread in each
+        timestep benchmark run*/
+    public static final long SEED = 42; //Seed for all generated inputs
+    public static final double NS_PER_MS = 1000000.0;
+
+    //CLASS FIELDS
+    private static long sink; /*Sum of results of all benchmark runs (printed
+        so work cannot be optimised away & results can be compared)*/
+
+    //PRIVATE INNER CLASSES
+    /* Single benchmark with a name, a parameter description, an untimed setup
+     *  run before every iteration & a timed run returning a checksum
+     */
+    private abstract static class Benchmark
+    {
+        //CLASS FIELDS
+        private String name;
+        private String param;
+
+        /* Alternate Constructor
+         */
+        private Benchmark(String inName, String inParam)
+        {
+            name = inName;
+            param = inParam;
+        }
+
+        /* Prepares inputs for the next run (not timed)
+         */
+        protected void setup()
+        {
+        }
+
+        /* Runs the benchmarked operation once, returning a checksum of its
+         *  result
+         */
+        protected abstract long run();
+    }
+
+    public static void main(String[] args)
+    {
+        int warmups = 3;
+        int iterations = 5;
+        String filter = "";
+        String dataDir = "rFiles";
+        DSALinkedList benchmarks;
+        Iterator benchIter;
+        Benchmark curBench;
+
+        try
+        {
+            for (int ii = 0; ii < args.length; ii += 2)
+            {
+                if (ii + 1 >= args.length)
+                {
+                    throw new IllegalArgumentException("Missing value for " +
+                            args[ii]);
+                }
+                else if (args[ii].equals("-w"))
+                {
+                    warmups = parseCount(args[ii + 1], 0);
+                }
+                else if (args[ii].equals("-i"))
+                {
+                    iterations = parseCount(args[ii + 1], 1);
+                }
+                else if (args[ii].equals("-f"))
+                {
+                    filter = args[ii + 1];
+                }
+                else if (args[ii].equals("-d"))
+                {
+                    dataDir = args[ii + 1];
+                }
+                else
+                {
+                    throw new IllegalArgumentException("Unknown option " +
+                            args[ii]);
+                }
+            }
+
+            benchmarks = createBenchmarks(dataDir);
+
+            System.out.println(String.format("%-28s %-28s %10s %9s %10s",
+                    "Benchmark", "Param", "Mean(ms)", "Error", "Min(ms)"));
+            benchIter = benchmarks.iterator();
+            while (benchIter.hasNext())
+            {
+                curBench = (Benchmark)benchIter.next();
+                if ((curBench.name + " " + curBench.param).indexOf(filter)
+                        != -1) //If benchmark name or param matches filter
+                {
+                    measure(curBench, warmups, iterations);
+                }
+            }
+            System.out.println("Checksum: " + sink);
+        }
+        catch (IllegalArgumentException i)
+        {
+            System.out.println("Error: " + i.getMessage());
+            System.out.println("Usage: java SocialSimBenchmark [-w " +
+                    "<warmups>] [-i <iterations>] [-f <filter>] " +
+                    "[-d <data directory>]");
+        }
+    }
+
+    /* Runs the imported benchmark's warmup & measured iterations & prints
+     *  its timings
+     */
+    private static void measure(Benchmark bench, int warmups, int iterations)
+    {
+        double[] times = new double[iterations];
+        double mean = 0.0, variance = 0.0, min = Double.MAX_VALUE;
+        long start;
+
+        for (int ii = 0; ii < warmups; ii++)
+        {
+            bench.setup();
+            sink += bench.run();
+        }
+
+        for (int ii = 0; ii < iterations; ii++)
+        {
+            bench.setup();
+            System.gc(); //Keeping garbage from setup out of timed run
+            start = System.nanoTime();
+            sink += bench.run();
+            times[ii] = (System.nanoTime() - start) / NS_PER_MS;
+            mean += times[ii] / iterations;
+            min = Math.min(min, times[ii]);
+        }
+
+        for (int ii = 0; ii < iterations; ii++)
+        {
+            variance += (times[ii] - mean) * (times[ii] - mean) / iterations;
+        }
+
+        System.out.println(String.format("%-28s %-28s %10.3f %9.3f %10.3f",
+                bench.name, bench.param, mean, Math.sqrt(variance), min));
+    }
+
+    /* Returns list of every benchmark, reading datasets from the imported
+     *  directory
+     */
+    private static DSALinkedList createBenchmarks(String dataDir)
+    {
+        DSALinkedList benchmarks = new DSALinkedList();
+        DSALinkedList[] networkFiles;
+        String[] networkNames;
+
+        for (int ii = 0; ii < TREE_SIZES.length; ii++)
+        {
+            addTreeBenchmarks(benchmarks, TREE_SIZES[ii], true);
+            addTreeBenchmarks(benchmarks, TREE_SIZES[ii], false);
+        }
+
+        for (int ii = 0; ii < LIST_SIZES.length; ii++)
+        {
+            for (int jj = 0; jj < SORT_THREADS.length; jj++)
+            {
+                addListBenchmark(benchmarks, LIST_SIZES[ii],
+                        SORT_THREADS[jj]);
+            }
+        }
+
+        //Reading all network files up front (reading is not benchmarked)
+        networkFiles = new DSALinkedList[DATASETS.length +
+                GENERATED_USERS.length];
+        networkNames = new String[networkFiles.length];
+        for (int ii = 0; ii < DATASETS.length; ii++)
+        {
+            networkNames[ii] = "netfile" + DATASETS[ii];
+            networkFiles[ii] = FileManager.readFile(dataDir + File.separator +
+                    networkNames[ii] + ".txt");
+            if (networkFiles[ii].isEmpty()) //If file could not be read
+            {
+                throw new IllegalArgumentException("Could not read dataset " +
+                        networkNames[ii] + " from '" + dataDir + "'");
+            }
+        }
+        for (int ii = 0; ii < GENERATED_USERS.length; ii++)
+        {
+            networkNames[DATASETS.length + ii] = "generated" +
+                    GENERATED_USERS[ii] + "U";
+            networkFiles[DATASETS.length + ii] = generateNetwork(
+                    GENERATED_USERS[ii], GENERATED_FOLLOWS);
+        }
+
+        for (int ii = 0; ii < networkFiles.length; ii++)
+        {
+            addNetworkBenchmarks(benchmarks, networkNames[ii],
+                    networkFiles[ii]);
+        }
+
+        return benchmarks;
+    }
+
+    /* Adds insert & find benchmarks for a tree of the imported size, with keys
+     *  inserted in sorted or random order
+     */
+    private static void addTreeBenchmarks(DSALinkedList benchmarks,
+                                          final int size, boolean sorted)
+    {
+        final String[] keys = treeKeys(size, sorted);
+        final String param = size + (sorted ? " sorted" : " random");
+
+        benchmarks.insertLast(new Benchmark("DSABinarySearchTree.insert",
+                param)
+        {
+            protected long run()
+            {
+                DSABinarySearchTree tree = new DSABinarySearchTree();
+
+                for (int ii = 0; ii < keys.length; ii++)
+                {
+                    tree.insert(keys[ii], keys[ii]);
+                }
+
+                return tree.height();
+            }
+        });
+
+        benchmarks.insertLast(new Benchmark("DSABinarySearchTree.find", param)
+        {
+            private DSABinarySearchTree tree;
+
+            protected void setup()
+            {
+                if (tree == null) //Tree is only read, so is built once
+                {
+                    tree = new DSABinarySearchTree();
+                    for (int ii = 0; ii < keys.length; ii++)
+                    {
+                        tree.insert(keys[ii], keys[ii]);
+                    }
+                }
+            }
+
+            protected long run()
+            {
+                long found = 0;
+
+                for (int ii = 0; ii < keys.length; ii++)
+                {
+                    found += ((String)tree.find(keys[ii])).length();
+                }
+
+                return found;
+            }
+        });
+    }
+
+    /* Adds a benchmark sorting a list of the imported number of random
+     *  integers in descending order using the imported number of threads
+     */
+    private static void addListBenchmark(DSALinkedList benchmarks,
+                                         final int size, int threads)
+    {
+        final ForkJoinPool pool = (threads > 1) ? new ForkJoinPool(threads) :
+                null;
+
+        benchmarks.insertLast(new Benchmark("DSALinkedList.sortDesc",
+                size + " random " + threads + "T")
+        {
+            private DSALinkedList list;
+
+            protected void setup()
+            {
+                SplittableRandom random = new SplittableRandom(SEED);
+
+                list = new DSALinkedList();
+                for (int ii = 0; ii < size; ii++)
+                {
+                    list.insertLast(Integer.valueOf(random.nextInt()));
+                }
+            }
+
+            protected long run()
+            {
+                if (pool != null)
+                {
+                    list.sortDesc(pool);
+                }
+                else
+                {
+                    list.sortDesc();
+                }
+
+                return ((Integer)list.peekFirst()).longValue();
+            }
+        });
+    }
+
+    /* Adds benchmarks loading the imported network file lines, spreading
+     *  posts through the loaded network until they are all stale & logging
+     *  the resulting network
+     */
+    private static void addNetworkBenchmarks(DSALinkedList benchmarks,
+                                             final String name,
+                                             final DSALinkedList lines)
+    {
+        benchmarks.insertLast(new Benchmark("NetworkManager.loadNetwork",
+                name)
+        {
+            protected long run()
+            {
+                return NetworkManager.loadNetwork(lines).getEdgeCount();
+            }
+        });
+
+        benchmarks.insertLast(new Benchmark("Network.timeStep", name +
+                " x" + POSTS + " posts")
+        {
+            private Network network;
+
+            protected void setup()
+            {
+                network = postedNetwork(lines);
+            }
+
+            protected long run()
+            {
+                long steps = 0;
+
+                while (!network.allPostsStale())
+                {
+                    network.timeStep();
+                    steps++;
+                }
+
+                return steps;
+            }
+        });
+
+        benchmarks.insertLast(new Benchmark("NetworkManager.logTimeStep",
+                name)
+        {
+            private Network network;
+
+            protected void setup()
+            {
+                if (network == null) //Network is only read, so is built once
+                {
+                    network = postedNetwork(lines);
+                    while (!network.allPostsStale())
+                    {
+                        network.timeStep();
+                    }
+                }
+            }
+
+            protected long run()
+            {
+                return NetworkManager.logTimeStep(network).getCount();
+            }
+        });
+    }
+
+    /* Returns a network loaded from the imported lines with like & follow
+     *  chances of 0.5 & a seeded set of posts by users spread through it
+     */
+    private static Network postedNetwork(DSALinkedList lines)
+    {
+        Network network = NetworkManager.loadNetwork(lines);
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] userNames = new String[network.getVertexCount()];
+        Iterator lineIter = lines.iterator();
+        String curLine;
+        int userCount = 0;
+
+        //Getting user names (lines without a colon) in file order
+        while (lineIter.hasNext())
+        {
+            curLine = (String)lineIter.next();
+            if (curLine.indexOf(':') == -1 && userCount < userNames.length)
+            {
+                userNames[userCount] = curLine.trim();
+                userCount++;
+            }
+        }
+
+        network.setSeed(SEED);
+        network.setLikeChance(0.5);
+        network.setFollowChance(0.5);
+        for (int ii = 0; ii < POSTS; ii++)
+        {
+            network.makePost(userNames[random.nextInt(userCount)],
+                    "benchmark post " + ii, 1.0);
+        }
+
+        return network;
+    }
+
+    /* Returns the imported number of keys (zero-padded numbers so they sort
+     *  numerically), either in ascending order or seeded random order
+     */
+    private static String[] treeKeys(int size, boolean sorted)
+    {
+        String[] keys = new String[size];
+        SplittableRandom random = new SplittableRandom(SEED);
+        String swap;
+        int swapIdx;
+
+        for (int ii = 0; ii < size; ii++)
+        {
+            keys[ii] = String.format("key%09d", ii);
+        }
+
+        if (!sorted) //Fisher-Yates shuffle
+        {
+            for (int ii = size - 1; ii > 0; ii--)
+            {
+                swapIdx = random.nextInt(ii + 1);
+                swap = keys[ii];
+                keys[ii] = keys[swapIdx];
+                keys[swapIdx] = swap;
+            }
+        }
+
+        return keys;
+    }
+
+    /* Returns the lines of a seeded scale-free network file with the imported
+     *  number of users, each following the imported mean number of users
+     */
+    private static DSALinkedList generateNetwork(int userCount,
+                                                 int followCount)
+    {
+        NetworkGenerator generator = new NetworkGenerator(userCount,
+                followCount);
+        LogWriter writer = new LogWriter();
+
+        generator.setSeed(SEED);
+        generator.writeNetwork(writer);
+
+        return writer.getLines();
+    }
+
+    /* Returns imported string as an integer of at least the imported minimum,
+     *  throws exception otherwise
+     */
+    private static int parseCount(String inString, int min)
+    {
+        int count;
+
+        try
+        {
+            count = Integer.parseInt(inString);
+        }
+        catch (NumberFormatException n)
+        {
+            throw new IllegalArgumentException("'" + inString + "' is not " +
+                    "an integer");
+        }
+
+        if (count < min)
+        {
+            throw new IllegalArgumentException("Count must be at least " + min);
+        }
+
+        return count;
+    }
+}
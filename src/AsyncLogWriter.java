@@ -0,0 +1,236 @@
+/* Async Log Writer by Moritz Bergemann
+ * Log writer that hands each timestep's lines to a dedicated writer thread
+ *  through a bounded queue, so the simulation does not wait on the log file
+ *  unless the queue is full. Lines are written in the order they were given.
+ * Created Date: 17/10/2026
+ */
+import java.util.*;
+
+public class AsyncLogWriter extends LogWriter
+{
+    //CONSTANTS
+    private static final Object FLUSH_MARKER = new Object(); /*Queued to make
+        writer thread flush log file*/
+    private static final Object END_MARKER = new Object(); /*Queued to make
+        writer thread stop*/
+
+    //CLASS FIELDS
+    private DSALinkedList stepLines; //Lines of timestep currently being logged
+    private DSAQueue queue; //Timesteps (& markers) waiting to be written
+    private int queueCapacity; //Maximum number of items waiting in queue
+    private Thread writerThread; //Thread writing queued timesteps to file
+    private volatile RuntimeException writeFailure; /*Exception thrown by writer
+        thread (null if none)*/
+    private boolean closed; //Whether log has been closed
+
+    //CONSTRUCTORS
+    /* Alternate Constructor (opens log file with imported name, overwriting it
+     *  if append is false, & starts writer thread). Throws exception if file
+     *  cannot be opened or queue capacity is less than 1.
+     */
+    public AsyncLogWriter(String filename, boolean append, int inFlushInterval,
+                          int inQueueCapacity)
+    {
+        super(filename, append, inFlushInterval);
+
+        if (inQueueCapacity < 1)
+        {
+            super.close();
+            throw new IllegalArgumentException("Log queue capacity must be " +
+                    "at least 1");
+        }
+
+        stepLines = new DSALinkedList();
+        queue = new DSAQueue();
+        queueCapacity = inQueueCapacity;
+        writeFailure = null;
+        closed = false;
+
+        writerThread = new Thread(new LogWriterTask(), "log-writer");
+        writerThread.setDaemon(true); /*So a writer that is never closed cannot
+            keep program running*/
+        writerThread.start();
+    }
+
+    //MUTATORS
+    /* Adds the imported line to the log of the current timestep (written once
+     *  the timestep is ended)
+     */
+    @Override
+    public void writeLine(String line)
+    {
+        stepLines.insertLast(line);
+    }
+
+    /* Hands the current timestep's lines to the writer thread, waiting if the
+     *  queue is full. Throws exception if the writer thread has failed.
+     */
+    @Override
+    public void endTimeStep()
+    {
+        enqueue(stepLines);
+        stepLines = new DSALinkedList();
+    }
+
+    /* Makes the writer thread flush the log file once it has written all
+     *  timesteps ended before this call (does not wait for this to happen)
+     */
+    @Override
+    public void flush()
+    {
+        enqueue(FLUSH_MARKER);
+    }
+
+    /* Waits for the writer thread to write all remaining lines (including
+     *  those of an unfinished timestep), then flushes & closes the log file.
+     *  Throws exception if the writer thread failed to write any of them.
+     */
+    @Override
+    public void close()
+    {
+        if (!closed)
+        {
+            closed = true;
+
+            try
+            {
+                if (!stepLines.isEmpty()) //If a timestep was left unfinished
+                {
+                    enqueue(stepLines);
+                    stepLines = new DSALinkedList();
+                }
+                enqueue(END_MARKER);
+
+                //Waiting for writer to finish (or stop after failing)
+                try
+                {
+                    writerThread.join();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalArgumentException("Interrupted while " +
+                            "waiting for log to be written");
+                }
+            }
+            finally
+            {
+                super.close();
+            }
+        }
+
+        if (writeFailure != null)
+        {
+            throw writeFailure;
+        }
+    }
+
+    //PRIVATE METHODS
+    /* Adds imported item to back of queue, waiting while queue is full. Throws
+     *  exception if writer thread has failed (as it will never take items).
+     */
+    private void enqueue(Object item)
+    {
+        synchronized (queue)
+        {
+            while (queue.getCount() >= queueCapacity && writeFailure == null)
+            {
+                try
+                {
+                    queue.wait();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalArgumentException("Interrupted while " +
+                            "waiting to write log");
+                }
+            }
+
+            if (writeFailure != null)
+            {
+                throw writeFailure;
+            }
+
+            queue.enqueue(item);
+            queue.notifyAll();
+        }
+    }
+
+    /* Removes & returns item at front of queue, waiting while queue is empty
+     *  (called by writer thread only)
+     */
+    private Object dequeue() throws InterruptedException
+    {
+        Object item;
+
+        synchronized (queue)
+        {
+            while (queue.isEmpty())
+            {
+                queue.wait();
+            }
+
+            item = queue.dequeue();
+            queue.notifyAll(); //Waking simulation thread if waiting for room
+        }
+
+        return item;
+    }
+
+    //PRIVATE CLASSES
+    /* Task run by writer thread, writing queued timesteps to the log file in
+     *  order until the end marker is reached or writing fails
+     */
+    private class LogWriterTask implements Runnable
+    {
+        public void run()
+        {
+            boolean finished = false;
+            Object item;
+            Iterator lineIter;
+
+            try
+            {
+                while (!finished)
+                {
+                    item = dequeue();
+
+                    if (item == END_MARKER)
+                    {
+                        finished = true;
+                    }
+                    else if (item == FLUSH_MARKER)
+                    {
+                        AsyncLogWriter.super.flush();
+                    }
+                    else
+                    {
+                        lineIter = ((DSALinkedList) item).iterator();
+                        while (lineIter.hasNext())
+                        {
+                            AsyncLogWriter.super.writeLine(
+                                    (String) lineIter.next());
+                        }
+                        AsyncLogWriter.super.endTimeStep();
+                    }
+                }
+            }
+            catch (InterruptedException e)
+            {
+                writeFailure = new IllegalArgumentException("Log writer " +
+                        "interrupted");
+            }
+            catch (RuntimeException r)
+            {
+                writeFailure = r;
+            }
+
+            //Waking simulation thread if waiting for room (so it sees failure)
+            synchronized (queue)
+            {
+                queue.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,529 @@
+/* DSA Adjacency Store by Moritz Bergemann
+ * Model class storing the edges of a graph as one sorted row of int ids per
+ *  source vertex (indexed by the source's id), rather than a tree of nodes
+ *  per vertex. Rows are either int arrays on the heap, or runs of one large
+ *  direct (off-heap) buffer so that very large graphs do not have to be
+ *  scanned by the garbage collector.
+ * Created Date: 17/10/2026
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+public class DSAAdjacencyStore
+{
+    //CONSTANTS
+    private static final int MIN_ROW_CAPACITY = 4; /*Smallest number of ids
+        room is made for when a row is created*/
+    private static final int MIN_SLAB_CAPACITY = 1024; /*Smallest number of
+        ids off-heap buffer holds*/
+    private static final int MAX_SLAB_CAPACITY = Integer.MAX_VALUE / 4; /*Most
+        ids a single direct buffer can hold*/
+
+    //CLASS FIELDS
+    private boolean offHeap; //Whether rows are stored in off-heap buffer
+    private int[] counts; //Number of ids in each row
+    private int[][] rows; //Rows by source id (if on heap, otherwise null)
+    private IntBuffer slab; //Buffer holding all rows (if off heap)
+    private int[] starts; //Position of each row in buffer (if off heap)
+    private int[] capacities; //Room for ids of each row in buffer (if off heap)
+    private int slabUsed; //Number of ids of buffer given out to rows
+    private int slabWasted; /*Number of ids of buffer given out to rows that
+        have since moved (reclaimed when buffer is next grown)*/
+    private long edgeCount; //Total number of ids in all rows
+    private int[] degreeCounts; /*Number of rows holding each number of ids
+        (from 1 id upwards, index 0 unused)*/
+    private int maxDegree; //Largest number of ids in any row
+
+    //CONSTRUCTORS
+    /* Default Constructor (stores rows on heap)
+     */
+    public DSAAdjacencyStore()
+    {
+        this(false);
+    }
+
+    /* Alternate Constructor (takes whether rows are stored off heap)
+     */
+    public DSAAdjacencyStore(boolean inOffHeap)
+    {
+        counts = new int[0];
+        edgeCount = 0;
+        degreeCounts = new int[MIN_ROW_CAPACITY];
+        maxDegree = 0;
+        offHeap = false;
+        rows = new int[0][];
+        setOffHeap(inOffHeap);
+    }
+
+    //MUTATORS
+    /* Adds imported sink id to row of imported source id, returning false
+     *  (without changing anything) if row already contains it
+     */
+    public boolean add(int source, int sink)
+    {
+        int position = find(source, sink);
+        int count;
+        boolean added = false;
+
+        if (position < 0) //If sink not already in row
+        {
+            position = -(position + 1);
+            ensureSource(source);
+            count = counts[source];
+            ensureRowCapacity(source, count + 1);
+
+            //Moving larger ids up to make room
+            if (offHeap)
+            {
+                for (int ii = count; ii > position; ii--)
+                {
+                    slab.put(starts[source] + ii,
+                            slab.get(starts[source] + ii - 1));
+                }
+                slab.put(starts[source] + position, sink);
+            }
+            else
+            {
+                System.arraycopy(rows[source], position, rows[source],
+                        position + 1, count - position);
+                rows[source][position] = sink;
+            }
+            counts[source]++;
+            degreeChanged(count, count + 1);
+            added = true;
+        }
+
+        return added;
+    }
+
+    /* Adds imported sink id to row of imported source id without updating
+     *  the store's totals (edge count & degrees), so that rows of different
+     *  sources can be filled by separate threads at once. Rows must be
+     *  stored on heap & room made for each source beforehand (see
+     *  ensureSource), and recount must be called once all ids are added.
+     *  Returns false (without changing anything) if row already contains id.
+     */
+    public boolean addShared(int source, int sink)
+    {
+        int position = find(source, sink);
+        int count;
+        boolean added = false;
+
+        if (position < 0) //If sink not already in row
+        {
+            position = -(position + 1);
+            count = counts[source];
+            ensureRowCapacity(source, count + 1);
+            System.arraycopy(rows[source], position, rows[source],
+                    position + 1, count - position);
+            rows[source][position] = sink;
+            counts[source]++;
+            added = true;
+        }
+
+        return added;
+    }
+
+    /* Recalculates the store's totals (edge count & degrees) from its rows
+     *  (see addShared)
+     */
+    public void recount()
+    {
+        edgeCount = 0;
+        degreeCounts = new int[MIN_ROW_CAPACITY];
+        maxDegree = 0;
+
+        for (int ii = 0; ii < counts.length; ii++)
+        {
+            degreeChanged(0, counts[ii]);
+        }
+    }
+
+    /* Removes imported sink id from row of imported source id, returning
+     *  false if row does not contain it
+     */
+    public boolean remove(int source, int sink)
+    {
+        int position = find(source, sink);
+        int count;
+        boolean removed = false;
+
+        if (position >= 0) //If sink in row
+        {
+            count = counts[source];
+            if (offHeap)
+            {
+                for (int ii = position; ii < count - 1; ii++)
+                {
+                    slab.put(starts[source] + ii,
+                            slab.get(starts[source] + ii + 1));
+                }
+            }
+            else
+            {
+                System.arraycopy(rows[source], position + 1, rows[source],
+                        position, count - position - 1);
+            }
+            counts[source]--;
+            degreeChanged(count, count - 1);
+            removed = true;
+        }
+
+        return removed;
+    }
+
+    /* Makes room for a row of imported source id
+     */
+    public void ensureSource(int source)
+    {
+        int newLength;
+
+        if (source >= counts.length)
+        {
+            newLength = Math.max(source + 1, counts.length * 2);
+            counts = Arrays.copyOf(counts, newLength);
+            if (offHeap)
+            {
+                starts = Arrays.copyOf(starts, newLength);
+                capacities = Arrays.copyOf(capacities, newLength);
+            }
+            else
+            {
+                rows = Arrays.copyOf(rows, newLength);
+            }
+        }
+    }
+
+    /* Removes every id from row of imported source id (releasing its storage)
+     */
+    public void clear(int source)
+    {
+        if (source < counts.length)
+        {
+            if (offHeap)
+            {
+                slabWasted += capacities[source];
+                capacities[source] = 0;
+            }
+            else
+            {
+                rows[source] = null;
+            }
+            degreeChanged(counts[source], 0);
+            counts[source] = 0;
+        }
+    }
+
+    /* Replaces row of imported source id with the imported number of ids of
+     *  imported array starting at imported position (ids must be sorted in
+     *  increasing order with no duplicates)
+     */
+    public void setRow(int source, int[] ids, int from, int count)
+    {
+        clear(source);
+        ensureSource(source);
+
+        if (count > 0)
+        {
+            ensureRowCapacity(source, count);
+            if (offHeap)
+            {
+                slab.put(starts[source], ids, from, count);
+            }
+            else
+            {
+                System.arraycopy(ids, from, rows[source], 0, count);
+            }
+            counts[source] = count;
+            degreeChanged(0, count);
+        }
+    }
+
+    /* Moves all rows to off-heap storage (if imported value is true) or to
+     *  the heap (if false), does nothing if already stored there
+     */
+    public void setOffHeap(boolean inOffHeap)
+    {
+        int[][] oldRows;
+
+        if (inOffHeap && !offHeap)
+        {
+            oldRows = rows;
+            rows = null;
+            starts = new int[counts.length];
+            capacities = new int[counts.length];
+            slab = null;
+            slabUsed = 0;
+            slabWasted = 0;
+            growSlab(Math.max(MIN_SLAB_CAPACITY, countIds()));
+            offHeap = true;
+
+            for (int ii = 0; ii < counts.length; ii++)
+            {
+                if (counts[ii] > 0)
+                {
+                    starts[ii] = allocate(counts[ii]);
+                    capacities[ii] = counts[ii];
+                    slab.put(starts[ii], oldRows[ii], 0, counts[ii]);
+                }
+            }
+        }
+        else if (!inOffHeap && offHeap)
+        {
+            rows = new int[counts.length][];
+            for (int ii = 0; ii < counts.length; ii++)
+            {
+                if (counts[ii] > 0)
+                {
+                    rows[ii] = new int[counts[ii]];
+                    slab.get(starts[ii], rows[ii], 0, counts[ii]);
+                }
+            }
+            offHeap = false;
+            slab = null;
+            starts = null;
+            capacities = null;
+        }
+    }
+
+    //ACCESSORS
+    /* Returns whether rows are stored off heap
+     */
+    public boolean isOffHeap()
+    {
+        return offHeap;
+    }
+
+    /* Returns whether row of imported source id contains imported sink id
+     */
+    public boolean has(int source, int sink)
+    {
+        return find(source, sink) >= 0;
+    }
+
+    /* Returns number of ids in row of imported source id
+     */
+    public int degree(int source)
+    {
+        return source < counts.length ? counts[source] : 0;
+    }
+
+    /* Returns id at imported index of row of imported source id (ids of a row
+     *  are in increasing order)
+     */
+    public int get(int source, int index)
+    {
+        return offHeap ? slab.get(starts[source] + index) :
+                rows[source][index];
+    }
+
+    /* Returns total number of ids in all rows
+     */
+    public long getEdgeCount()
+    {
+        //Total is maintained as ids are added & removed
+        return edgeCount;
+    }
+
+    /* Returns largest number of ids in any row
+     */
+    public int getMaxDegree()
+    {
+        return maxDegree;
+    }
+
+    //PRIVATE METHODS
+    /* Updates the store's totals for a row going from the first imported
+     *  number of ids to the second
+     */
+    private void degreeChanged(int oldDegree, int newDegree)
+    {
+        edgeCount += newDegree - oldDegree;
+
+        if (oldDegree > 0)
+        {
+            degreeCounts[oldDegree]--;
+        }
+        if (newDegree > 0)
+        {
+            if (newDegree >= degreeCounts.length)
+            {
+                degreeCounts = Arrays.copyOf(degreeCounts,
+                        Math.max(newDegree + 1, degreeCounts.length * 2));
+            }
+            degreeCounts[newDegree]++;
+        }
+
+        //Moving largest degree up to new degree, or down past empty degrees
+        if (newDegree > maxDegree)
+        {
+            maxDegree = newDegree;
+        }
+        while (maxDegree > 0 && degreeCounts[maxDegree] == 0)
+        {
+            maxDegree--;
+        }
+    }
+
+    /* Returns index of imported sink id in row of imported source id, or
+     *  -(insertion point) - 1 if not in row (as Arrays.binarySearch)
+     */
+    private int find(int source, int sink)
+    {
+        int low = 0;
+        int high = degree(source) - 1;
+        int mid, midId;
+        int found = -1;
+
+        if (!offHeap)
+        {
+            found = (high < 0) ? -1 :
+                    Arrays.binarySearch(rows[source], 0, high + 1, sink);
+        }
+        else
+        {
+            while (low <= high && found == -1)
+            {
+                mid = (low + high) >>> 1;
+                midId = slab.get(starts[source] + mid);
+                if (midId < sink)
+                {
+                    low = mid + 1;
+                }
+                else if (midId > sink)
+                {
+                    high = mid - 1;
+                }
+                else
+                {
+                    found = mid;
+                }
+            }
+
+            if (found == -1) //If sink not found
+            {
+                found = -(low + 1);
+            }
+        }
+
+        return found;
+    }
+
+    /* Makes room for imported number of ids in row of imported source id
+     *  (moving row if needed)
+     */
+    private void ensureRowCapacity(int source, int capacity)
+    {
+        int newCapacity, newStart;
+
+        if (offHeap)
+        {
+            if (capacities[source] < capacity)
+            {
+                newCapacity = Math.max(MIN_ROW_CAPACITY,
+                        Math.max(capacity, capacities[source] * 2));
+
+                if (capacities[source] > 0 &&
+                        starts[source] + capacities[source] == slabUsed &&
+                        slabUsed - capacities[source] + newCapacity <=
+                                slab.capacity())
+                {
+                    //Growing last row of buffer in place
+                    slabUsed += newCapacity - capacities[source];
+                }
+                else
+                {
+                    newStart = allocate(newCapacity);
+                    slab.put(newStart, slab, starts[source], counts[source]);
+                    slabWasted += capacities[source];
+                    starts[source] = newStart;
+                }
+                capacities[source] = newCapacity;
+            }
+        }
+        else if (rows[source] == null)
+        {
+            rows[source] = new int[Math.max(MIN_ROW_CAPACITY, capacity)];
+        }
+        else if (rows[source].length < capacity)
+        {
+            rows[source] = Arrays.copyOf(rows[source],
+                    Math.max(capacity, rows[source].length * 2));
+        }
+    }
+
+    /* Gives out imported number of ids of the off-heap buffer, returning
+     *  position of first id (buffer is grown & compacted if full)
+     */
+    private int allocate(int capacity)
+    {
+        int start;
+
+        if ((long) slabUsed + capacity > slab.capacity())
+        {
+            growSlab(capacity);
+        }
+        start = slabUsed;
+        slabUsed += capacity;
+
+        return start;
+    }
+
+    /* Replaces off-heap buffer with one with room for all live rows & at
+     *  least imported number of extra ids, leaving out space of moved rows
+     */
+    private void growSlab(int extra)
+    {
+        IntBuffer newSlab;
+        long liveIds = (long) slabUsed - slabWasted;
+        long newCapacity = Math.max(MIN_SLAB_CAPACITY, (liveIds + extra) * 2);
+        int position = 0;
+
+        if (liveIds + extra > MAX_SLAB_CAPACITY)
+        {
+            throw new IllegalArgumentException("Too many edges to store off " +
+                    "heap");
+        }
+        newCapacity = Math.min(newCapacity, MAX_SLAB_CAPACITY);
+
+        newSlab = ByteBuffer.allocateDirect((int) newCapacity * 4)
+                .order(ByteOrder.nativeOrder()).asIntBuffer();
+
+        //Copying live rows to start of new buffer (if not first buffer)
+        if (slab != null)
+        {
+            for (int ii = 0; ii < counts.length; ii++)
+            {
+                if (capacities[ii] > 0)
+                {
+                    newSlab.put(position, slab, starts[ii], counts[ii]);
+                    starts[ii] = position;
+                    position += capacities[ii];
+                }
+            }
+        }
+
+        slab = newSlab;
+        slabUsed = position;
+        slabWasted = 0;
+    }
+
+    /* Returns total number of ids in all rows, throws exception if too many
+     *  to fit in a single off-heap buffer
+     */
+    private int countIds()
+    {
+        long idCount = getEdgeCount();
+
+        if (idCount > MAX_SLAB_CAPACITY)
+        {
+            throw new IllegalArgumentException("Too many edges to store off " +
+                    "heap");
+        }
+
+        return (int) idCount;
+    }
+}
@@ -2,6 +2,8 @@
  * Model class for binary search trees containing functionality for viewing
  *  & editing contained data
  * Created DAte: 19/08/2019
+ * Updated Date: 17/10/2026 (tree now self-balancing (AVL), so keys inserted in
+ *  sorted order no longer produce a degenerate chain)
  * REFERENCE: This class was adapted from my submission for DSA Prac 4
  */
 
@@ -25,6 +27,9 @@ public class DSABinarySearchTree implements Serializable, Iterable
         private Object value; //Value stored by list node
         private DSATreeNode left; //Left child node (lower key)
         private DSATreeNode right; //Right tree node (higher key)
+        private int height; /*Height of sub-tree rooted at this node (0 if node
+            is a leaf)*/
+        private int size; //Number of nodes in sub-tree rooted at this node
 
         //CONSTRUCTORS
         //Alternate Constructor (input node's value & key)
@@ -34,51 +39,62 @@ public class DSABinarySearchTree implements Serializable, Iterable
             value = inValue;
             left = null;
             right = null;
+            height = 0;
+            size = 1;
         }
     }
 
     /* Iterator class for binary search tree (performs in-list iteration of
-     *  tree). Iterator does NOT update with changes made to tree.
+     *  tree). Nodes are visited lazily as the iterator advances, so the tree
+     *  must not be modified while the iterator is in use.
      */
     private class DSABinarySearchTreeIterator implements Iterator
     {
         //CLASS FIELDS
-        private DSAQueue iterQueue; /*Stores queue of all elements in tree in
-            post-order*/
+        private DSATreeNode[] nodeStack; /*Stores path of nodes whose left
+            sub-trees are being visited (next node is always top of stack)*/
+        private int stackSize; //Number of nodes currently in node stack
 
         //CONSTRUCTORS
         /* Alternate Constructor
          */
         public DSABinarySearchTreeIterator(DSABinarySearchTree inTree)
         {
-            //Getting post-list traversal of tree
-            iterQueue = new DSAQueue();
+            /*Creating stack large enough to hold longest path in tree (height
+                + 1 nodes)*/
+            nodeStack = new DSATreeNode[inTree.height() + 1];
+            stackSize = 0;
 
-            if (root != null)
-            {
-                //Recursively filling queue with tree's nodes
-                getInListRec(iterQueue, inTree.root);
-            }
+            //Moving to smallest node in tree
+            pushLeftPath(inTree.root);
         }
 
         /* Returns whether next node for iterator exists
          */
         public boolean hasNext()
         {
-            return (!iterQueue.isEmpty());
+            return (stackSize > 0);
         }
 
-        /* Moves iterator to next node (the one currently stored by iterNext) if
-         *  it exists and returns its value
+        /* Moves iterator to next node (the one currently on top of the stack)
+         *  if it exists and returns its value
          */
         public Object next()
         {
             Object nextVal = null;
+            DSATreeNode nextNode;
 
-            if (!iterQueue.isEmpty()) /*If tree traversal has not completed*/
+            if (stackSize > 0) /*If tree traversal has not completed*/
             {
-                //Getting value object of next node in queue
-                nextVal = ((DSATreeNode) iterQueue.dequeue()).value;
+                //Getting value object of next node in traversal
+                stackSize--;
+                nextNode = nodeStack[stackSize];
+                nodeStack[stackSize] = null;
+                nextVal = nextNode.value;
+
+                /*Moving to smallest node of right sub-tree (next node after
+                    this one in in-list order)*/
+                pushLeftPath(nextNode.right);
             }
 
             return nextVal;
@@ -92,24 +108,16 @@ public class DSABinarySearchTree implements Serializable, Iterable
             throw new UnsupportedOperationException("Not Supported");
         }
 
-        /* Recursively traverses tree using in-list traversal and returns result
-         *  as queue of tree nodes for use in iterator.
+        /* Pushes the imported node & all of its left descendants onto the node
+         *  stack (leaving the smallest node of the sub-tree on top)
          */
-        private void getInListRec(DSAQueue treeQueue, DSATreeNode currentNode)
+        private void pushLeftPath(DSATreeNode currentNode)
         {
-            //Applying algorithm to left-child tree (if exists)
-            if (currentNode.left != null)
-            {
-                getInListRec(treeQueue, currentNode.left);
-            }
-
-            //Adding current node to output queue
-            treeQueue.enqueue(currentNode);
-
-            //Applying algorithm to right-child tree (if exists)
-            if (currentNode.right != null)
+            while (currentNode != null)
             {
-                getInListRec(treeQueue, currentNode.right);
+                nodeStack[stackSize] = currentNode;
+                stackSize++;
+                currentNode = currentNode.left;
             }
         }
     }
@@ -166,10 +174,60 @@ public class DSABinarySearchTree implements Serializable, Iterable
             currentNode.right = insertRec(newKey, newValue, currentNode.right);
         }
 
+        if (currentNode != null) /*If new node was inserted below this one
+            (meaning this sub-tree may now be unbalanced)*/
+        {
+            updateNode = rebalance(currentNode);
+        }
+
         //Updating value of this node as referenced by parent node 
         return updateNode;
     }
 
+    /* Replaces the contents of the tree with the first imported number of
+     *  keys & values (keys must be sorted in increasing order with no
+     *  duplicates, throws exception otherwise), building a perfectly balanced
+     *  tree in linear time rather than inserting keys one at a time
+     */
+    public void buildFromSorted(String[] inKeys, Object[] inValues,
+                                int inCount)
+    {
+        for (int ii = 1; ii < inCount; ii++)
+        {
+            if (inKeys[ii - 1].compareTo(inKeys[ii]) >= 0) /*If keys not in
+                increasing order*/
+            {
+                throw new IllegalArgumentException("Keys must be sorted " +
+                        "with no duplicates (key '" + inKeys[ii] + "')");
+            }
+        }
+
+        root = buildRec(inKeys, inValues, 0, inCount - 1);
+        count = inCount;
+    }
+
+    /* Recursive method for building balanced tree from sorted keys between
+     *  imported indexes (inclusive), returns root node of built sub-tree
+     */
+    private DSATreeNode buildRec(String[] inKeys, Object[] inValues, int low,
+                                 int high)
+    {
+        DSATreeNode currentNode = null;
+        int mid;
+
+        if (low <= high) //If there are keys left in range
+        {
+            //Middle key becomes root so both sides differ by at most 1 node
+            mid = (low + high) >>> 1;
+            currentNode = new DSATreeNode(inKeys[mid], inValues[mid]);
+            currentNode.left = buildRec(inKeys, inValues, low, mid - 1);
+            currentNode.right = buildRec(inKeys, inValues, mid + 1, high);
+            updateHeight(currentNode);
+        }
+
+        return currentNode;
+    }
+
     /* Deletes node with imported key from tree if found (& moves connections
      *  of remaining nodes to retain tree integrity), throws exception if
      *  not found
@@ -211,6 +269,12 @@ public class DSABinarySearchTree implements Serializable, Iterable
             currentNode.right = deleteRec(deleteKey, currentNode.right);
         }
 
+        if (updateNode != null) /*If a sub-tree remains at this position (may
+            have become unbalanced by deletion below it)*/
+        {
+            updateNode = rebalance(updateNode);
+        }
+
         return updateNode;
     }
 
@@ -245,43 +309,154 @@ public class DSABinarySearchTree implements Serializable, Iterable
         else //If has both children
         {
             /*Getting successor node that will maintain proper relationships
-                from right sub-tree*/
-            updateNode = promoteSuccessor(delNode.right);
-            if (updateNode != delNode.right) /*If successor ended up not being
-                node to right of node to be deleted*/
+                (leftmost node of right sub-tree)*/
+            updateNode = delNode.right;
+            while (updateNode.left != null)
             {
-                /*Making successor node's right child same as deleted node's 
-                    right child*/
-                updateNode.right = delNode.right;
+                updateNode = updateNode.left;
             }
-            //Making successor node's left child same as deleted node's
+
+            /*Removing successor from right sub-tree & giving it the deleted
+                node's children*/
+            updateNode.right = promoteSuccessor(delNode.right);
             updateNode.left = delNode.left;
         }
 
         return updateNode;
     }
 
-    /* Recursively gets node that can logically replace node to be deleted
-     *  (leftmost node of right subtree as this must be smaller than all other
-     *  right subtree nodes & bigger than all left subtree nodes) & removes that
-     *  node from its previous position*/
+    /* Recursively removes the leftmost node of the imported sub-tree (the
+     *  successor of the node being deleted, which will be moved to replace
+     *  it) & returns the rebalanced sub-tree that remains
+     */
     private DSATreeNode promoteSuccessor(DSATreeNode currentNode)
     {
-        DSATreeNode successor = currentNode;
+        DSATreeNode updateNode; //Value node position will be set to
 
-        if (currentNode.left != null)
+        if (currentNode.left == null) //If current node is the successor
+        {
+            /*Replacing successor with its right child (automatically null if
+                successor doesn't have right child) so it can be removed*/
+            updateNode = currentNode.right;
+        }
+        else
         {
-            successor = promoteSuccessor(currentNode.left);
-            if (successor == currentNode.left) /*If successor ended up being
-                left child of current node*/
+            currentNode.left = promoteSuccessor(currentNode.left);
+            updateNode = rebalance(currentNode);
+        }
+
+        return updateNode;
+    }
+
+    /* Updates the height of the imported node & performs any rotations needed
+     *  to make the sub-tree it roots balanced (heights of left & right sub-trees
+     *  differing by no more than 1). Returns new root of sub-tree.
+     */
+    private DSATreeNode rebalance(DSATreeNode currentNode)
+    {
+        DSATreeNode updateNode = currentNode; /*Root of sub-tree after
+            rebalancing (same as current node if no rotation required)*/
+        int balanceFactor;
+
+        updateHeight(currentNode);
+        balanceFactor = nodeHeight(currentNode.left) -
+                nodeHeight(currentNode.right);
+
+        if (balanceFactor > 1) //If left sub-tree too tall
+        {
+            if (nodeHeight(currentNode.left.left) <
+                    nodeHeight(currentNode.left.right)) /*If left child leans
+                    right (requires double rotation)*/
             {
-                /*Changing current node's left child from successor node to
-                    successor's right child (automatically null if successor
-                    doesn't have right child) so it can be removed*/
-                currentNode.left = successor.right;
+                currentNode.left = rotateLeft(currentNode.left);
             }
+            updateNode = rotateRight(currentNode);
+        }
+        else if (balanceFactor < -1) //If right sub-tree too tall
+        {
+            if (nodeHeight(currentNode.right.right) <
+                    nodeHeight(currentNode.right.left)) /*If right child leans
+                    left (requires double rotation)*/
+            {
+                currentNode.right = rotateRight(currentNode.right);
+            }
+            updateNode = rotateLeft(currentNode);
+        }
+
+        return updateNode;
+    }
+
+    /* Rotates the sub-tree rooted at the imported node to the left (right
+     *  child becomes new root of sub-tree) & returns the new root
+     */
+    private DSATreeNode rotateLeft(DSATreeNode currentNode)
+    {
+        DSATreeNode newRoot = currentNode.right;
+
+        currentNode.right = newRoot.left;
+        newRoot.left = currentNode;
+
+        //Updating heights (lower node first as new root's height depends on it)
+        updateHeight(currentNode);
+        updateHeight(newRoot);
+
+        return newRoot;
+    }
+
+    /* Rotates the sub-tree rooted at the imported node to the right (left
+     *  child becomes new root of sub-tree) & returns the new root
+     */
+    private DSATreeNode rotateRight(DSATreeNode currentNode)
+    {
+        DSATreeNode newRoot = currentNode.left;
+
+        currentNode.left = newRoot.right;
+        newRoot.right = currentNode;
+
+        //Updating heights (lower node first as new root's height depends on it)
+        updateHeight(currentNode);
+        updateHeight(newRoot);
+
+        return newRoot;
+    }
+
+    /* Sets height & size of imported node based on the heights & sizes of
+     *  its children
+     */
+    private void updateHeight(DSATreeNode currentNode)
+    {
+        currentNode.height = Math.max(nodeHeight(currentNode.left),
+                nodeHeight(currentNode.right)) + 1;
+        currentNode.size = nodeSize(currentNode.left) +
+                nodeSize(currentNode.right) + 1;
+    }
+
+    /* Returns stored height of imported node (-1 if node is null)
+     */
+    private int nodeHeight(DSATreeNode currentNode)
+    {
+        int height = -1;
+
+        if (currentNode != null)
+        {
+            height = currentNode.height;
         }
-        return successor;
+
+        return height;
+    }
+
+    /* Returns stored size of imported node's sub-tree (0 if node is null)
+     */
+    private int nodeSize(DSATreeNode currentNode)
+    {
+        int size = 0;
+
+        if (currentNode != null)
+        {
+            size = currentNode.size;
+        }
+
+        return size;
     }
 
     //ACCESSORS
@@ -580,76 +755,16 @@ public class DSABinarySearchTree implements Serializable, Iterable
      */
     public int height()
     {
-        return heightRec(root);
-    }
-
-    /*Recursively determines height of binary tree
-     */
-    private int heightRec(DSATreeNode currentNode)
-    {
-        int heightSoFar, leftHeight, rightHeight;
-
-        if (currentNode == null) //If no more nodes along this path 
-        {
-            heightSoFar = -1;
-        }
-        else
-        {
-            //Calculate height of left & right branches
-            leftHeight = heightRec(currentNode.left);
-            rightHeight = heightRec(currentNode.right);
-            
-            /*Make current height height of tallest sub-branch + 1 for current 
-                node*/
-            if (leftHeight > rightHeight)
-            {
-                heightSoFar = leftHeight + 1;
-            }
-            else
-            {
-                heightSoFar = rightHeight + 1;
-            }
-        }
-
-        return heightSoFar;
+        //Height is maintained by each node as tree is modified
+        return nodeHeight(root);
     }
 
     /*Returns number of nodes currently in tree
      */
     public int count()
     {
-        int totalCount = 0;
-
-        if (root != null)
-        {
-            totalCount = countRec(0, root);
-        }
-
-        return totalCount;
-
-    }
-
-    private int countRec(int countSoFar, DSATreeNode currentNode)
-    {
-        if (currentNode != null) /*If current node exists (in case method is 
-            called on to null node*/
-        {
-            /*Adding count of nodes in left/right sub-trees (if exist) to total
-                count*/
-            if (currentNode.left != null)
-            {
-                countSoFar = countRec(countSoFar, currentNode.left);
-            }
-            if (currentNode.right != null)
-            {
-                countSoFar = countRec(countSoFar, currentNode.right);
-            }
-
-            //Adding 1 to total count for current node
-            countSoFar++;
-        }
-
-        return countSoFar;
+        //Count is maintained as nodes are inserted & deleted
+        return count;
     }
 
     /*Returns percentage score for how balanced the tree is (i.e. percentage
@@ -665,8 +780,9 @@ public class DSABinarySearchTree implements Serializable, Iterable
         int leftCount, rightCount; /*Store number of nodes in left/right 
             sub-branches of root*/
 
-        leftCount = countRec(0, root.left);
-        rightCount = countRec(0, root.right);
+        //Sub-tree sizes are maintained by each node as tree is modified
+        leftCount = nodeSize(root.left);
+        rightCount = nodeSize(root.right);
 
         double balancePercent; //Balance level of tree as percentage ratio
 
@@ -0,0 +1,158 @@
+/* DSA Bit Set by Moritz Bergemann
+ * Model class for a growable set of non-negative integers, stored as one bit
+ *  per possible integer (packed into an array of longs)
+ * Created Date: 17/10/2026
+ */
+
+import java.io.Serializable;
+
+public class DSABitSet implements Serializable
+{
+    //CONSTANTS
+    private static final int WORD_BITS = 64; //Number of bits in each word
+
+    //CLASS FIELDS
+    private long[] words; //Words storing bits of set (bit n in word n / 64)
+    private int count; //Number of bits currently set
+
+    //CONSTRUCTORS
+    /* Default Constructor
+     */
+    public DSABitSet()
+    {
+        this(WORD_BITS);
+    }
+
+    /* Alternate Constructor (takes number of bits to initially make room for)
+     */
+    public DSABitSet(int initialBits)
+    {
+        words = new long[Math.max(1, (initialBits + WORD_BITS - 1) / WORD_BITS)];
+        count = 0;
+    }
+
+    //MUTATORS
+    /* Adds imported integer to set (does nothing if already in set)
+     */
+    public void set(int index)
+    {
+        int wordIndex = wordIndex(index);
+        long mask = 1L << index; //Shift uses lowest 6 bits of index only
+
+        if (wordIndex >= words.length) //If set not yet large enough
+        {
+            grow(wordIndex);
+        }
+
+        if ((words[wordIndex] & mask) == 0)
+        {
+            words[wordIndex] |= mask;
+            count++;
+        }
+    }
+
+    /* Removes imported integer from set (does nothing if not in set)
+     */
+    public void clear(int index)
+    {
+        int wordIndex = wordIndex(index);
+        long mask = 1L << index;
+
+        if (wordIndex < words.length && (words[wordIndex] & mask) != 0)
+        {
+            words[wordIndex] &= ~mask;
+            count--;
+        }
+    }
+
+    /* Removes all integers from set (without releasing its storage)
+     */
+    public void clearAll()
+    {
+        for (int ii = 0; ii < words.length; ii++)
+        {
+            words[ii] = 0L;
+        }
+        count = 0;
+    }
+
+    //ACCESSORS
+    /* Returns whether imported integer is in set
+     */
+    public boolean get(int index)
+    {
+        int wordIndex = wordIndex(index);
+
+        return wordIndex < words.length &&
+                (words[wordIndex] & (1L << index)) != 0;
+    }
+
+    /* Returns number of integers currently in set
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /* Returns whether set is currently empty
+     */
+    public boolean isEmpty()
+    {
+        return count == 0;
+    }
+
+    /* Returns smallest integer in set that is greater than or equal to
+     *  imported index, or -1 if there is none
+     */
+    public int nextSet(int fromIndex)
+    {
+        int found = -1;
+        int wordIndex = wordIndex(fromIndex);
+        long word;
+
+        if (wordIndex < words.length)
+        {
+            //Ignoring bits below imported index in first word
+            word = words[wordIndex] & (-1L << fromIndex);
+
+            while (word == 0 && wordIndex < words.length - 1)
+            {
+                wordIndex++;
+                word = words[wordIndex];
+            }
+
+            if (word != 0)
+            {
+                found = wordIndex * WORD_BITS + Long.numberOfTrailingZeros(word);
+            }
+        }
+
+        return found;
+    }
+
+    //PRIVATE METHODS
+    /* Returns index of word that holds bit for imported integer, throws
+     *  exception if integer is negative
+     */
+    private int wordIndex(int index)
+    {
+        if (index < 0)
+        {
+            throw new IllegalArgumentException("Bit set index cannot be " +
+                    "negative");
+        }
+
+        return index / WORD_BITS;
+    }
+
+    /* Grows word array so it contains imported word index (at least doubling
+     *  size so repeated growth is amortised)
+     */
+    private void grow(int wordIndex)
+    {
+        long[] newWords = new long[Math.max(wordIndex + 1, words.length * 2)];
+
+        System.arraycopy(words, 0, newWords, 0, words.length);
+        words = newWords;
+    }
+}
@@ -2,7 +2,7 @@
  * Model class for graph data structure consisting of set of vertices linked
  *  together by (directional) edges
  * Created Date: 3/09/2019
- * Updated Date: 3/10/2019
+ * Updated Date: 17/10/2026
  * REFERENCE: This class was adapted from my submission for DSA Prac 5
  */
 import java.util.*;
@@ -10,7 +10,26 @@ import java.util.*;
 public class DSAGraph
 {
     //CLASS FIELDS
-    protected DSABinarySearchTree vertices;
+    protected DSABinarySearchTree vertices; /*All vertices in graph (ordered
+        by label for sorted iteration)*/
+    private DSAHashTable vertexIndex; /*All vertices in graph indexed by label
+        (for constant time lookup)*/
+    private int nextVertexId; //Id to be given to next vertex added to graph
+    private DSAGraphVertex[] vertexById; /*All vertices in graph indexed by id
+        (null where vertex has been removed)*/
+    protected DSAAdjacencyStore adjacency; /*Edges of graph as ids of sinks
+        of each source, by id of source*/
+    private DSAAdjacencyStore inAdjacency; /*Edges of graph reversed, as ids
+        of sources of each sink, by id of sink (so a vertex's incoming edges
+        can be found without searching every vertex)*/
+    private int[] frozenOffsets; /*Frozen (compressed sparse row) view of
+        edges: edges of vertex with id n are frozenSinks[frozenOffsets[n]] to
+        frozenSinks[frozenOffsets[n + 1] - 1] (null if no frozen view)*/
+    private int[] frozenSinks; /*Ids of sinks of all edges in frozen view,
+        grouped by source & in label order within each source*/
+    private DSABitSet frozenOverlay; /*Ids of vertices whose edges changed
+        since frozen view was built (their edges must be read from their
+        rows of the adjacency store until the view is next refreshed)*/
 
     //INNER CLASSES
     /* Model class for vertices within linked list
@@ -21,19 +40,19 @@ public class DSAGraph
     {
         //CLASS FIELDS
         String label;
+        int id; /*Dense integer id unique to vertex within graph (ids are not
+            reused after a vertex is removed)*/
         Object value;
-        DSABinarySearchTree adjacent; /*Stores links to vertices that this
-            vertex is adjacent to*/
         boolean visited; //Stores whether vertex has been visited during search
 
         //CONSTRUCTORS
         /* Alternate constructor
          */
-        public DSAGraphVertex(String inLabel, Object inValue)
+        public DSAGraphVertex(String inLabel, int inId, Object inValue)
         {
             label = inLabel;
+            id = inId;
             value = inValue;
-            adjacent = new DSABinarySearchTree();
             visited = false;
         }
 
@@ -58,17 +77,43 @@ public class DSAGraph
     /* Default Constructor
      */
     public DSAGraph()
+    {
+        this(false);
+    }
+
+    /* Alternate Constructor (takes whether edges are stored off heap, see
+     *  DSAAdjacencyStore)
+     */
+    public DSAGraph(boolean offHeapEdges)
     {
         vertices = new DSABinarySearchTree();
+        vertexIndex = new DSAHashTable();
+        nextVertexId = 0;
+        vertexById = new DSAGraphVertex[16];
+        adjacency = new DSAAdjacencyStore(offHeapEdges);
+        inAdjacency = new DSAAdjacencyStore(offHeapEdges);
+        frozenOffsets = null;
+        frozenOverlay = new DSABitSet();
+    }
+
+    /* Alternate Constructor (bulk-builds graph from imported vertex labels &
+     *  values, with an edge from vertex sources[i] to vertex sinks[i] for
+     *  each i, see bulkBuild)
+     */
+    public DSAGraph(String[] inLabels, Object[] inValues, int[] sources,
+                    int[] sinks)
+    {
+        this();
+        bulkBuild(inLabels, inValues, sources, sinks);
     }
 
     //PUBLIC ACCESSORS
     /* Returns whether or not vertex with given label exists in graph (by 
-     *  checking tree of all vertices
+     *  checking index of all vertices
      */
     public boolean hasVertex(String inLabel)
     {
-        return vertices.has(inLabel);
+        return vertexIndex.has(inLabel);
     }
 
     /* Returns whether the graph possess a directional edge going from label1
@@ -78,9 +123,9 @@ public class DSAGraph
     public boolean hasEdge(String inLabel1, String inLabel2)
     {
         DSAGraphVertex vertex1 = getVertex(inLabel1);
-        getVertex(inLabel2);
+        DSAGraphVertex vertex2 = getVertex(inLabel2);
 
-        return vertex1.adjacent.has(inLabel2);
+        return adjacency.has(vertex1.id, vertex2.id);
     }
 
     /* Returns whether graph is currently empty
@@ -97,26 +142,37 @@ public class DSAGraph
         return vertices.getCount();
     }
 
+    /* Returns one more than the largest id given to a vertex in the graph
+     *  (i.e. the number of bits needed to index every vertex by id)
+     */
+    public int getVertexIdLimit()
+    {
+        return nextVertexId;
+    }
+
     /* Returns number of edges currently in graph
      */
     public int getEdgeCount()
     {
-        int edgeCount = 0; /*Total number of edges in graph (equivalent to total
-            number of items in each vertex's adjacency list*/
-        Iterator verticesIterator = vertices.iterator();
-        DSAGraphVertex currentVertex, currentAdjacentVertex;
-
-        //Iterating through each vertex in list of vertices
-        while (verticesIterator.hasNext())
-        {
-            currentVertex = (DSAGraphVertex)verticesIterator.next();
+        //Total number of edges is maintained by adjacency store
+        return (int) adjacency.getEdgeCount();
+    }
 
-            //Increasing edgeCount by number of vertices in adjacency list
-            edgeCount += currentVertex.adjacent.getCount();
-        }
+    /* Returns a snapshot of the graph's statistics (all statistics are
+     *  maintained as the graph changes, so this does not scan the graph)
+     */
+    public DSAGraphStats getStats()
+    {
+        return new DSAGraphStats(getVertexCount(), adjacency.getEdgeCount(),
+                adjacency.getMaxDegree(), inAdjacency.getMaxDegree(),
+                vertices.height());
+    }
 
-        //Getting number of edges as number of adjacent vertices listed / 2
-        return edgeCount;
+    /* Returns whether the graph's edges are stored off heap
+     */
+    public boolean isOffHeapEdges()
+    {
+        return adjacency.isOffHeap();
     }
 
     /* Prints the graph's vertices to the console in adjacency list form
@@ -140,7 +196,7 @@ public class DSAGraph
             vertexString += currentVertex.label + ": ";
 
             //Iterating through adjacency list of current vertex
-            adjacentIterator = currentVertex.adjacent.iterator();
+            adjacentIterator = adjacentIterator(currentVertex);
             while (adjacentIterator.hasNext())
             {
                 currentAdjacentVertex = 
@@ -187,7 +243,7 @@ public class DSAGraph
             vertexString += currentVertex.label + ": ";
 
             //Iterating through adjacency list of current vertex
-            adjacentIterator = currentVertex.adjacent.iterator();
+            adjacentIterator = adjacentIterator(currentVertex);
             while (adjacentIterator.hasNext())
             {
                 currentAdjacentVertex =
@@ -326,8 +382,8 @@ public class DSAGraph
 
             /*Searching for first vertex in current top of stack's adjacency 
                 list that has not yet been visited*/
-            adjListIterator = 
-                ((DSAGraphVertex)vertexStack.top()).adjacent.iterator();
+            adjListIterator =
+                adjacentIterator((DSAGraphVertex)vertexStack.top());
             while (adjListIterator.hasNext() && firstUnvisitedVertex == null)
             {
                 currentAdjVertex = (DSAGraphVertex)adjListIterator.next();
@@ -390,8 +446,8 @@ public class DSAGraph
         {
             /*Adding all unvisited vertices adjacent to current front
                 of queue to queue*/
-            adjListIterator = 
-                ((DSAGraphVertex)vertexQueue.peek()).adjacent.iterator();
+            adjListIterator =
+                adjacentIterator((DSAGraphVertex)vertexQueue.peek());
             while (adjListIterator.hasNext())
             {
                 currentAdjVertex = (DSAGraphVertex)adjListIterator.next();
@@ -422,13 +478,9 @@ public class DSAGraph
      */
     protected DSAGraphVertex getVertex(String inLabel)
     {
-        DSAGraphVertex vertexToGet = null; //Vertex to return (null by default)
+        DSAGraphVertex vertexToGet = findVertex(inLabel);
 
-        try
-        {
-            vertexToGet = (DSAGraphVertex) vertices.find(inLabel);
-        }
-        catch (IllegalArgumentException i) //If vertex not in graph
+        if (vertexToGet == null) //If vertex not in graph
         {
             throw new IllegalArgumentException("Vertex with label '" + inLabel +
                     "' not in graph");
@@ -437,54 +489,364 @@ public class DSAGraph
         return vertexToGet;
     }
 
+    /* Returns the vertex in the graph with the imported label, or null if it
+     *  is not present (does not throw, for use where a missing vertex is an
+     *  expected outcome)
+     */
+    protected DSAGraphVertex findVertex(String inLabel)
+    {
+        return (DSAGraphVertex) vertexIndex.get(inLabel);
+    }
+
+    /* Returns whether the edges of the imported vertex can be read from the
+     *  frozen view (i.e. a view exists & the vertex's edges have not changed
+     *  since it was built)
+     */
+    protected boolean isFrozen(DSAGraphVertex inVertex)
+    {
+        return frozenOffsets != null && inVertex.id < frozenOffsets.length - 1
+                && !frozenOverlay.get(inVertex.id);
+    }
+
+    /* Returns position in frozen view of first edge of imported (frozen)
+     *  vertex
+     */
+    protected int frozenStart(DSAGraphVertex inVertex)
+    {
+        return frozenOffsets[inVertex.id];
+    }
+
+    /* Returns position in frozen view after last edge of imported (frozen)
+     *  vertex
+     */
+    protected int frozenEnd(DSAGraphVertex inVertex)
+    {
+        return frozenOffsets[inVertex.id + 1];
+    }
+
+    /* Returns sink vertex of edge at imported position in frozen view
+     */
+    protected DSAGraphVertex frozenSink(int position)
+    {
+        return vertexById[frozenSinks[position]];
+    }
+
+    /* Returns the vertices the imported vertex has edges to, sorted by label
+     *  (from the frozen view if up to date, otherwise by sorting the
+     *  vertex's row of the adjacency store)
+     */
+    protected DSAGraphVertex[] getAdjacent(DSAGraphVertex inVertex)
+    {
+        DSAGraphVertex[] adjacent;
+        int start;
+
+        if (isFrozen(inVertex)) //If frozen view already has edges sorted
+        {
+            start = frozenStart(inVertex);
+            adjacent = new DSAGraphVertex[frozenEnd(inVertex) - start];
+            for (int ii = 0; ii < adjacent.length; ii++)
+            {
+                adjacent[ii] = frozenSink(start + ii);
+            }
+        }
+        else
+        {
+            adjacent = new DSAGraphVertex[adjacency.degree(inVertex.id)];
+            for (int ii = 0; ii < adjacent.length; ii++)
+            {
+                adjacent[ii] = vertexById[adjacency.get(inVertex.id, ii)];
+            }
+            Arrays.sort(adjacent);
+        }
+
+        return adjacent;
+    }
+
+    /* Returns the vertices that have edges to the imported vertex, sorted by
+     *  label
+     */
+    protected DSAGraphVertex[] getInAdjacent(DSAGraphVertex inVertex)
+    {
+        DSAGraphVertex[] inAdjacent =
+                new DSAGraphVertex[inAdjacency.degree(inVertex.id)];
+
+        for (int ii = 0; ii < inAdjacent.length; ii++)
+        {
+            inAdjacent[ii] = vertexById[inAdjacency.get(inVertex.id, ii)];
+        }
+        Arrays.sort(inAdjacent);
+
+        return inAdjacent;
+    }
+
+    /* Returns iterator over the vertices the imported vertex has edges to,
+     *  in label order
+     */
+    protected Iterator adjacentIterator(DSAGraphVertex inVertex)
+    {
+        return Arrays.asList(getAdjacent(inVertex)).iterator();
+    }
+
+    /* Returns number of edges from imported vertex
+     */
+    protected int getDegree(DSAGraphVertex inVertex)
+    {
+        return adjacency.degree(inVertex.id);
+    }
+
+    /* Returns number of edges to imported vertex
+     */
+    protected int getInDegree(DSAGraphVertex inVertex)
+    {
+        return inAdjacency.degree(inVertex.id);
+    }
+
+    /* Returns the vertex with the imported id, or null if there is none
+     */
+    protected DSAGraphVertex getVertexById(int inId)
+    {
+        return (inId < nextVertexId) ? vertexById[inId] : null;
+    }
+
     //PUBLIC MUTATORS
     /* Adds vertex with given label & value to graph if label does not already
      *  exist in graph, throws exception otherwise*/
     public void addVertex(String inLabel, Object inValue) 
     {
         DSAGraphVertex newVertex;
-        newVertex = new DSAGraphVertex(inLabel, inValue);
 
-        try
-        {
-            vertices.insert(inLabel, newVertex);
-        }
-        catch (IllegalArgumentException i) //If vertex already in graph
+        if (hasVertex(inLabel)) //If vertex already in graph
         {
             throw new IllegalArgumentException("Vertex with label '" + inLabel +
                     "' already exists in graph");
         }
+
+        newVertex = new DSAGraphVertex(inLabel, nextVertexId, inValue);
+        nextVertexId++;
+
+        vertices.insert(inLabel, newVertex);
+        vertexIndex.put(inLabel, newVertex);
+        indexById(newVertex);
+        overlayChange(newVertex);
+    }
+
+    /* Moves the graph's edges to off-heap storage (if imported value is true)
+     *  or to the heap (if false)
+     */
+    public void setOffHeapEdges(boolean offHeapEdges)
+    {
+        adjacency.setOffHeap(offHeapEdges);
+        inAdjacency.setOffHeap(offHeapEdges);
+    }
+
+    /* Recalculates the graph's edge totals & rebuilds its reversed edges
+     *  from its edges (for subclasses that change the adjacency store
+     *  directly rather than through addEdge)
+     */
+    protected void rebuildInEdges()
+    {
+        DSAGraphVertex curVertex;
+        int source;
+
+        adjacency.recount();
+        inAdjacency = new DSAAdjacencyStore(adjacency.isOffHeap());
+        for (source = 0; source < nextVertexId; source++)
+        {
+            curVertex = vertexById[source];
+            if (curVertex != null)
+            {
+                inAdjacency.ensureSource(source);
+
+                /*Sources are visited in increasing order, so every reversed
+                    row is filled in sorted order*/
+                for (int ii = 0; ii < adjacency.degree(source); ii++)
+                {
+                    inAdjacency.add(adjacency.get(source, ii), source);
+                }
+            }
+        }
+    }
+
+    /* Brings the frozen (compressed sparse row) view of the graph's edges up
+     *  to date, building it if it does not exist. The view stores every
+     *  vertex's edges in label order as a run of ids in one int array (the
+     *  adjacency store keeps them in id order), so reading a vertex's edges
+     *  in label order is a loop over an array. Edges changed after this call
+     *  go to the overlay (their source is read & sorted from the adjacency
+     *  store instead) until the next call, which merges them into the view
+     *  by copying unchanged runs, O(V + E).
+     */
+    protected void freezeEdges()
+    {
+        if (frozenOffsets == null || !frozenOverlay.isEmpty())
+        {
+            rebuildFrozen();
+        }
+    }
+
+    /* Discards the frozen view of the graph's edges (for subclasses that
+     *  change the adjacency store directly rather than through addEdge)
+     */
+    protected void dropFrozenEdges()
+    {
+        frozenOffsets = null;
+        frozenSinks = null;
+        frozenOverlay.clearAll();
+    }
+
+    /* Fills the (empty) graph with vertices with the imported labels &
+     *  values, and an edge from vertex sources[i] to vertex sinks[i] for each
+     *  i (as indexes into the label array). Edges are sorted once & each
+     *  source's row of the adjacency store (and the balanced vertex tree) is
+     *  filled in a single pass, O(E log E) overall, rather than inserting &
+     *  checking one edge at a time. Throws exception if graph is not empty,
+     *  labels are duplicated or edges are duplicated/refer to vertices that
+     *  do not exist.
+     */
+    protected void bulkBuild(String[] inLabels, Object[] inValues,
+                             int[] sources, int[] sinks)
+    {
+        int vertexCount = inLabels.length;
+        int edgeCount = sources.length;
+        Integer[] labelOrder = new Integer[vertexCount];
+        DSAGraphVertex[] newVertices = new DSAGraphVertex[vertexCount];
+        String[] sortedLabels = new String[vertexCount];
+        DSAGraphVertex[] sortedVertices = new DSAGraphVertex[vertexCount];
+        long[] edgeKeys = new long[edgeCount];
+        int[] rowIds;
+        int groupStart, groupEnd, source;
+
+        if (!isEmpty())
+        {
+            throw new IllegalArgumentException("Graph must be empty to " +
+                    "bulk-build");
+        }
+        else if (inValues.length != vertexCount || sinks.length != edgeCount)
+        {
+            throw new IllegalArgumentException("Array lengths do not match");
+        }
+
+        //Creating vertices & sorting them by label
+        for (int ii = 0; ii < vertexCount; ii++)
+        {
+            newVertices[ii] = new DSAGraphVertex(inLabels[ii],
+                    nextVertexId + ii, inValues[ii]);
+            labelOrder[ii] = ii;
+        }
+        Arrays.sort(labelOrder, new Comparator<Integer>()
+        {
+            public int compare(Integer v1, Integer v2)
+            {
+                return inLabels[v1].compareTo(inLabels[v2]);
+            }
+        });
+        for (int ii = 0; ii < vertexCount; ii++)
+        {
+            sortedLabels[ii] = inLabels[labelOrder[ii]];
+            sortedVertices[ii] = newVertices[labelOrder[ii]];
+
+            if (ii > 0 && sortedLabels[ii].equals(sortedLabels[ii - 1]))
+            {
+                throw new IllegalArgumentException("Vertex with label '" +
+                        sortedLabels[ii] + "' already exists in graph");
+            }
+        }
+
+        //Sorting edges by source, then by sink
+        for (int ii = 0; ii < edgeCount; ii++)
+        {
+            if (sources[ii] < 0 || sources[ii] >= vertexCount ||
+                    sinks[ii] < 0 || sinks[ii] >= vertexCount)
+            {
+                throw new IllegalArgumentException("Edge refers to vertex " +
+                        "that does not exist");
+            }
+            edgeKeys[ii] = (long) sources[ii] * vertexCount + sinks[ii];
+        }
+        Arrays.sort(edgeKeys);
+
+        //Filling row of each source from its run of sorted edges
+        dropFrozenEdges();
+        rowIds = new int[edgeCount];
+        for (int ii = 0; ii < edgeCount; ii++)
+        {
+            if (ii > 0 && edgeKeys[ii] == edgeKeys[ii - 1])
+            {
+                throw new IllegalArgumentException("Edge {" +
+                        inLabels[(int) (edgeKeys[ii] / vertexCount)] + ", " +
+                        inLabels[(int) (edgeKeys[ii] % vertexCount)] +
+                        "} already exists in graph");
+            }
+            rowIds[ii] = nextVertexId + (int) (edgeKeys[ii] % vertexCount);
+        }
+        groupStart = 0;
+        while (groupStart < edgeCount)
+        {
+            source = (int) (edgeKeys[groupStart] / vertexCount);
+            groupEnd = groupStart;
+            while (groupEnd < edgeCount &&
+                    edgeKeys[groupEnd] / vertexCount == source)
+            {
+                groupEnd++;
+            }
+
+            adjacency.setRow(nextVertexId + source, rowIds, groupStart,
+                    groupEnd - groupStart);
+            groupStart = groupEnd;
+        }
+
+        //Building vertex tree & indexes
+        vertices.buildFromSorted(sortedLabels, sortedVertices, vertexCount);
+        vertexIndex = new DSAHashTable(vertexCount);
+        for (int ii = 0; ii < vertexCount; ii++)
+        {
+            vertexIndex.put(inLabels[ii], newVertices[ii]);
+            indexById(newVertices[ii]);
+        }
+        nextVertexId += vertexCount;
+        rebuildInEdges();
     }
 
     /* Removes vertex with given label from graph if it exists, throws exception
-     *  otherwise
+     *  otherwise. Only the vertex's own edges are visited (through the
+     *  reversed edges), so this is O(degree) rather than a search of every
+     *  vertex.
      */
     public void removeVertex(String inLabel)
     {
-        Iterator verticesListIter;
-        DSAGraphVertex curVertex;
+        DSAGraphVertex removedVertex;
+        int removedId, otherId;
 
         if (hasVertex(inLabel))
         {
-            //Removing vertex from overall vertex tree
+            removedVertex = getVertex(inLabel);
+            removedId = removedVertex.id;
+            overlayChange(removedVertex);
+
+            //Removing vertex from overall vertex tree & label index
             vertices.delete(inLabel);
+            vertexIndex.remove(inLabel);
 
-            //Removing vertex from every vertex's adjacent
-            verticesListIter = vertices.iterator();
-            while (verticesListIter.hasNext())
+            //Removing edges to vertex from each vertex that has one
+            for (int ii = 0; ii < inAdjacency.degree(removedId); ii++)
             {
-                curVertex = (DSAGraphVertex)verticesListIter.next();
+                otherId = inAdjacency.get(removedId, ii);
+                adjacency.remove(otherId, removedId);
+                overlayChange(vertexById[otherId]);
+            }
 
-                try
-                {
-                    curVertex.adjacent.delete(inLabel);
-                }
-                catch (IllegalArgumentException i) /*If current vertex's
-                    adjacent does not have vertex to be removed*/
-                {
-                    //Do nothing
-                }
+            //Removing vertex from reversed edges of each vertex it has edge to
+            for (int ii = 0; ii < adjacency.degree(removedId); ii++)
+            {
+                inAdjacency.remove(adjacency.get(removedId, ii), removedId);
             }
+
+            adjacency.clear(removedId);
+            inAdjacency.clear(removedId);
+
+            /*Removing vertex from id index last (as an edge from vertex to
+                itself makes it one of its own in-edge vertices)*/
+            vertexById[removedId] = null;
         }
         else
         {
@@ -506,15 +868,13 @@ public class DSAGraph
         vertex1 = getVertex(inLabel1);
         vertex2 = getVertex(inLabel2);
 
-        try
-        {
-            //Adding link to other vertex to the first's adjacent
-            vertex1.adjacent.insert(inLabel2, vertex2);
-        }
-        catch (IllegalArgumentException i) //If edge already exists
+        //Adding link to other vertex to the first's row of adjacency store
+        if (!adjacency.add(vertex1.id, vertex2.id)) //If edge already exists
         {
             throw new IllegalArgumentException("Edge already exists in graph");
         }
+        inAdjacency.add(vertex2.id, vertex1.id);
+        overlayChange(vertex1);
     }
 
     /* Removes the edge connecting the 2 imported labels (directionally) if it
@@ -522,7 +882,7 @@ public class DSAGraph
      */
     public void removeEdge(String inLabel1, String inLabel2)
     {
-        DSAGraphVertex vertex1, curAdjVertex;
+        DSAGraphVertex vertex1, vertex2, curAdjVertex;
         Iterator adjListIterator;
         int adjListPosition;
         boolean removed;
@@ -532,7 +892,11 @@ public class DSAGraph
         {
             vertex1 = getVertex(inLabel1);
 
-            vertex1.adjacent.delete(inLabel2);
+            vertex2 = getVertex(inLabel2);
+
+            adjacency.remove(vertex1.id, vertex2.id);
+            inAdjacency.remove(vertex2.id, vertex1.id);
+            overlayChange(vertex1);
         }
         else
         {
@@ -541,6 +905,86 @@ public class DSAGraph
         }
     }
 
+    /* Adds imported vertex to index of vertices by id (growing index if
+     *  needed)
+     */
+    private void indexById(DSAGraphVertex inVertex)
+    {
+        if (inVertex.id >= vertexById.length)
+        {
+            vertexById = Arrays.copyOf(vertexById,
+                    Math.max(inVertex.id + 1, vertexById.length * 2));
+        }
+        vertexById[inVertex.id] = inVertex;
+        adjacency.ensureSource(inVertex.id);
+        inAdjacency.ensureSource(inVertex.id);
+    }
+
+    /* Records that the edges of the imported vertex have changed since the
+     *  frozen view was built (does nothing if there is no frozen view)
+     */
+    private void overlayChange(DSAGraphVertex inVertex)
+    {
+        if (frozenOffsets != null)
+        {
+            frozenOverlay.set(inVertex.id);
+        }
+    }
+
+    /* Builds a new frozen view of the graph's edges, copying the edges of
+     *  vertices not in the overlay from the current view & reading the rest
+     *  from the adjacency store (sorted by label)
+     */
+    private void rebuildFrozen()
+    {
+        int[] newOffsets = new int[nextVertexId + 1];
+        int[] newSinks;
+        DSAGraphVertex curVertex;
+        DSAGraphVertex[] adjacent;
+
+        //Finding number of edges of each vertex
+        for (int ii = 0; ii < nextVertexId; ii++)
+        {
+            curVertex = vertexById[ii];
+            if (curVertex != null) //If vertex with this id still in graph
+            {
+                newOffsets[ii + 1] = isFrozen(curVertex) ?
+                        frozenEnd(curVertex) - frozenStart(curVertex) :
+                        adjacency.degree(ii);
+            }
+        }
+        for (int ii = 0; ii < nextVertexId; ii++)
+        {
+            newOffsets[ii + 1] += newOffsets[ii];
+        }
+
+        //Filling in edges of each vertex
+        newSinks = new int[newOffsets[nextVertexId]];
+        for (int ii = 0; ii < nextVertexId; ii++)
+        {
+            curVertex = vertexById[ii];
+            if (curVertex != null && isFrozen(curVertex)) /*If edges unchanged
+                since current view*/
+            {
+                System.arraycopy(frozenSinks, frozenStart(curVertex),
+                        newSinks, newOffsets[ii],
+                        newOffsets[ii + 1] - newOffsets[ii]);
+            }
+            else if (curVertex != null)
+            {
+                adjacent = getAdjacent(curVertex);
+                for (int jj = 0; jj < adjacent.length; jj++)
+                {
+                    newSinks[newOffsets[ii] + jj] = adjacent[jj].id;
+                }
+            }
+        }
+
+        frozenOffsets = newOffsets;
+        frozenSinks = newSinks;
+        frozenOverlay.clearAll();
+    }
+
     /* Sets all vertices in graph to unvisited
      */
     private void setAllUnvisited()
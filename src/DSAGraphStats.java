@@ -0,0 +1,93 @@
+/* DSA Graph Stats by Moritz Bergemann
+ * Snapshot of the statistics of a graph at the time it was taken (see
+ *  DSAGraph.getStats)
+ * Created Date: 17/10/2026
+ */
+
+public class DSAGraphStats
+{
+    //CLASS FIELDS
+    private int vertexCount; //Number of vertices in graph
+    private long edgeCount; //Number of edges in graph
+    private int maxOutDegree; //Largest number of edges from one vertex
+    private int maxInDegree; //Largest number of edges to one vertex
+    private int treeHeight; //Height of graph's tree of vertices
+
+    //CONSTRUCTORS
+    /* Alternate Constructor
+     */
+    public DSAGraphStats(int inVertexCount, long inEdgeCount,
+                         int inMaxOutDegree, int inMaxInDegree,
+                         int inTreeHeight)
+    {
+        vertexCount = inVertexCount;
+        edgeCount = inEdgeCount;
+        maxOutDegree = inMaxOutDegree;
+        maxInDegree = inMaxInDegree;
+        treeHeight = inTreeHeight;
+    }
+
+    //ACCESSORS
+    /* Returns number of vertices in graph
+     */
+    public int getVertexCount()
+    {
+        return vertexCount;
+    }
+
+    /* Returns number of edges in graph
+     */
+    public long getEdgeCount()
+    {
+        return edgeCount;
+    }
+
+    /* Returns largest number of edges from one vertex
+     */
+    public int getMaxOutDegree()
+    {
+        return maxOutDegree;
+    }
+
+    /* Returns largest number of edges to one vertex
+     */
+    public int getMaxInDegree()
+    {
+        return maxInDegree;
+    }
+
+    /* Returns average number of edges from each vertex (0.0 if graph has no
+     *  vertices)
+     */
+    public double getAverageDegree()
+    {
+        double averageDegree = 0.0;
+
+        if (vertexCount > 0)
+        {
+            averageDegree = (double) edgeCount / (double) vertexCount;
+        }
+
+        return averageDegree;
+    }
+
+    /* Returns height of graph's tree of vertices
+     */
+    public int getTreeHeight()
+    {
+        return treeHeight;
+    }
+
+    /* Returns statistics as a string
+     */
+    public String toString()
+    {
+        return "Vertices: " + vertexCount + "\n" +
+                "Edges: " + edgeCount + "\n" +
+                "Max Out-Degree: " + maxOutDegree + "\n" +
+                "Max In-Degree: " + maxInDegree + "\n" +
+                "Average Degree: " +
+                Math.round(getAverageDegree() * 100.0) / 100.0 + "\n" +
+                "Vertex Tree Height: " + treeHeight;
+    }
+}
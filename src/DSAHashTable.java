@@ -0,0 +1,216 @@
+/* DSA Hash Table by Moritz Bergemann
+ * Model class for hash table mapping string keys to values, using open
+ *  addressing (linear probing) so that lookups do not have to follow links
+ *  between separately allocated nodes
+ * Created Date: 17/10/2026
+ */
+
+import java.io.Serializable;
+
+public class DSAHashTable implements Serializable
+{
+    //CONSTANTS
+    private static final int INITIAL_CAPACITY = 16; //Must be power of 2
+    private static final double MAX_LOAD = 0.5; /*Maximum fraction of slots
+        that may be used (incl. deleted) before table is resized*/
+
+    //CLASS FIELDS
+    private String[] keys; //Keys stored in each slot (null if slot never used)
+    private Object[] values; //Values stored in each slot
+    private boolean[] deleted; /*Whether slot previously held an entry that has
+        since been removed (so probing must continue past it)*/
+    private int count; //Number of entries currently in table
+    private int usedSlots; //Number of slots holding an entry or deleted marker
+
+    //CONSTRUCTORS
+    /* Default Constructor
+     */
+    public DSAHashTable()
+    {
+        this(INITIAL_CAPACITY);
+    }
+
+    /* Alternate Constructor (takes expected number of entries so table does not
+     *  have to be resized while being filled)
+     */
+    public DSAHashTable(int expectedCount)
+    {
+        int capacity = INITIAL_CAPACITY;
+
+        //Getting smallest power of 2 that fits expected count at max load
+        while (capacity * MAX_LOAD < expectedCount)
+        {
+            capacity *= 2;
+        }
+
+        keys = new String[capacity];
+        values = new Object[capacity];
+        deleted = new boolean[capacity];
+        count = 0;
+        usedSlots = 0;
+    }
+
+    //MUTATORS
+    /* Adds entry with imported key & value to table, throws exception if key
+     *  already in table
+     */
+    public void put(String inKey, Object inValue)
+    {
+        int slot;
+
+        if (findSlot(inKey) >= 0)
+        {
+            throw new IllegalArgumentException("Key '" + inKey +
+                    "' already in table");
+        }
+
+        if (usedSlots + 1 > keys.length * MAX_LOAD) //If table too full
+        {
+            resize();
+        }
+
+        //Finding first free slot along probe sequence of key
+        slot = hashSlot(inKey);
+        while (keys[slot] != null && !deleted[slot])
+        {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+
+        if (keys[slot] == null) //If slot was never used before
+        {
+            usedSlots++;
+        }
+
+        keys[slot] = inKey;
+        values[slot] = inValue;
+        deleted[slot] = false;
+        count++;
+    }
+
+    /* Removes entry with imported key from table & returns its value, throws
+     *  exception if key not in table
+     */
+    public Object remove(String inKey)
+    {
+        int slot = findSlot(inKey);
+        Object value;
+
+        if (slot < 0)
+        {
+            throw new IllegalArgumentException("Key '" + inKey +
+                    "' not found");
+        }
+
+        value = values[slot];
+
+        //Marking slot as deleted (key is kept so probing continues past it)
+        values[slot] = null;
+        deleted[slot] = true;
+        count--;
+
+        return value;
+    }
+
+    //ACCESSORS
+    /* Returns value stored with imported key, or null if key not in table
+     *  (does not throw so it can be used for fast membership checks)
+     */
+    public Object get(String inKey)
+    {
+        Object value = null;
+        int slot = findSlot(inKey);
+
+        if (slot >= 0)
+        {
+            value = values[slot];
+        }
+
+        return value;
+    }
+
+    /* Returns whether table has entry with imported key
+     */
+    public boolean has(String inKey)
+    {
+        return findSlot(inKey) >= 0;
+    }
+
+    /* Returns number of entries currently in table
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /* Returns whether table is currently empty
+     */
+    public boolean isEmpty()
+    {
+        return count == 0;
+    }
+
+    //PRIVATE METHODS
+    /* Returns slot holding entry with imported key, or -1 if not in table
+     */
+    private int findSlot(String inKey)
+    {
+        int foundSlot = -1;
+        int slot = hashSlot(inKey);
+
+        //Probing until key or never-used slot found
+        while (foundSlot < 0 && keys[slot] != null)
+        {
+            if (!deleted[slot] && keys[slot].equals(inKey))
+            {
+                foundSlot = slot;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+
+        return foundSlot;
+    }
+
+    /* Returns slot at which probing for imported key starts
+     */
+    private int hashSlot(String inKey)
+    {
+        int hash = inKey.hashCode();
+
+        //Spreading high bits downwards as only low bits are used for slot
+        hash ^= (hash >>> 16);
+        hash *= 0x85EBCA6B;
+        hash ^= (hash >>> 13);
+
+        return hash & (keys.length - 1);
+    }
+
+    /* Rebuilds table (doubling capacity unless most used slots are only
+     *  deleted markers) & re-inserts all current entries
+     */
+    private void resize()
+    {
+        String[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldDeleted = deleted;
+        int capacity = oldKeys.length;
+
+        if (count + 1 > capacity * MAX_LOAD / 2) //If table genuinely filling up
+        {
+            capacity *= 2;
+        }
+
+        keys = new String[capacity];
+        values = new Object[capacity];
+        deleted = new boolean[capacity];
+        count = 0;
+        usedSlots = 0;
+
+        for (int ii = 0; ii < oldKeys.length; ii++)
+        {
+            if (oldKeys[ii] != null && !oldDeleted[ii])
+            {
+                put(oldKeys[ii], oldValues[ii]);
+            }
+        }
+    }
+}
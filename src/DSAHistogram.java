@@ -0,0 +1,194 @@
+/* DSA Histogram by Moritz Bergemann
+ * Model class for a histogram of non-negative long values with fixed relative
+ *  precision (in the style of an HDR histogram): values are counted in
+ *  buckets that are exact below 16 & cover 1/16th of a power of 2 above that,
+ *  so any value read back (e.g. a percentile) is within 6.25% of a recorded
+ *  value. Recording is O(1) & never allocates. Values above 2^47 are counted
+ *  as 2^47.
+ * Created Date: 17/10/2026
+ */
+
+import java.io.Serializable;
+
+public class DSAHistogram implements Serializable
+{
+    //CONSTANTS
+    private static final int SUB_BITS = 4; //Log2 of buckets per power of 2
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_BITS = 48; //Values are below 2^MAX_BITS
+    public static final long MAX_VALUE = (1L << (MAX_BITS - 1));
+
+    //CLASS FIELDS
+    private long[] buckets; //Number of values counted in each bucket
+    private long count; //Number of values recorded
+    private long total; //Sum of values recorded
+    private long min;
+    private long max;
+
+    //CONSTRUCTORS
+    /* Default Constructor
+     */
+    public DSAHistogram()
+    {
+        buckets = new long[(MAX_BITS - SUB_BITS + 1) * SUB_COUNT];
+        clear();
+    }
+
+    //MUTATORS
+    /* Counts the imported value (throws exception if negative)
+     */
+    public void record(long value)
+    {
+        if (value < 0)
+        {
+            throw new IllegalArgumentException("Histogram values cannot be " +
+                    "negative");
+        }
+
+        value = Math.min(value, MAX_VALUE);
+        buckets[bucketIndex(value)]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /* Adds all values counted by the imported histogram to this histogram
+     */
+    public void merge(DSAHistogram inHistogram)
+    {
+        for (int ii = 0; ii < buckets.length; ii++)
+        {
+            buckets[ii] += inHistogram.buckets[ii];
+        }
+        count += inHistogram.count;
+        total += inHistogram.total;
+        min = Math.min(min, inHistogram.min);
+        max = Math.max(max, inHistogram.max);
+    }
+
+    /* Removes all counted values
+     */
+    public void clear()
+    {
+        for (int ii = 0; ii < buckets.length; ii++)
+        {
+            buckets[ii] = 0;
+        }
+        count = 0;
+        total = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    //ACCESSORS
+    public long getCount()
+    {
+        return count;
+    }
+
+    /* Returns smallest value recorded (0 if none)
+     */
+    public long getMin()
+    {
+        return (count == 0) ? 0 : min;
+    }
+
+    public long getMax()
+    {
+        return max;
+    }
+
+    /* Returns mean of values recorded (0.0 if none)
+     */
+    public double getMean()
+    {
+        return (count == 0) ? 0.0 : (double)total / count;
+    }
+
+    /* Returns the value at the imported percentile (0.0 to 100.0) of values
+     *  recorded (the largest value in its bucket, capped at the maximum
+     *  recorded), or 0 if none recorded. Throws exception if percentile is
+     *  out of range.
+     */
+    public long getPercentile(double percentile)
+    {
+        long value = 0;
+        long rank, seen = 0;
+        int index = 0;
+
+        if (!(percentile >= 0.0 && percentile <= 100.0))
+        {
+            throw new IllegalArgumentException("Percentile must be between " +
+                    "0.0 & 100.0");
+        }
+
+        if (count > 0)
+        {
+            //Number of values at or below the percentile (at least 1)
+            rank = Math.max(1, (long)Math.ceil(percentile / 100.0 * count));
+            while (seen + buckets[index] < rank)
+            {
+                seen += buckets[index];
+                index++;
+            }
+            value = Math.max(min, Math.min(max, bucketTop(index)));
+        }
+
+        return value;
+    }
+
+    /* Returns count, min, median, 90th & 99th percentiles, max & mean as a
+     *  single line
+     */
+    public String toString()
+    {
+        return "count=" + count + " min=" + getMin() + " p50=" +
+                getPercentile(50.0) + " p90=" + getPercentile(90.0) +
+                " p99=" + getPercentile(99.0) + " max=" + max + " mean=" +
+                String.format("%.1f", getMean());
+    }
+
+    //PRIVATE METHODS
+    /* Returns index of bucket the imported (non-negative) value is counted in
+     */
+    private static int bucketIndex(long value)
+    {
+        int index, shift;
+        int topBit = 63 - Long.numberOfLeadingZeros(value); //-1 if value is 0
+
+        if (topBit < SUB_BITS) //If value is small enough to count exactly
+        {
+            index = (int)value;
+        }
+        else
+        {
+            //Keeping top SUB_BITS + 1 bits of value (the top one always 1)
+            shift = topBit - SUB_BITS;
+            index = (shift + 1) * SUB_COUNT +
+                    (int)(value >>> shift) - SUB_COUNT;
+        }
+
+        return index;
+    }
+
+    /* Returns largest value counted in bucket with imported index
+     */
+    private static long bucketTop(int index)
+    {
+        long top;
+        int shift;
+
+        if (index < SUB_COUNT)
+        {
+            top = index;
+        }
+        else
+        {
+            shift = index / SUB_COUNT - 1;
+            top = (((long)(index % SUB_COUNT + SUB_COUNT) + 1) << shift) - 1;
+        }
+
+        return top;
+    }
+}
@@ -4,10 +4,16 @@
  * REFERENCE: This class was adapted from my submission for DSA Prac 3
  */
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.io.Serializable;
 
 public class DSALinkedList implements Iterable, Serializable
 {
+    //CONSTANTS
+    private static final int PARALLEL_MIN = 8192; /*Maximum number of nodes
+        sorted by a single thread in a parallel sort*/
+
     //CLASS FIELDS
     private DSAListNode head; //First node in linked list
     private DSAListNode tail; //Last node in linked list
@@ -94,6 +100,44 @@ public class DSALinkedList implements Iterable, Serializable
         }
     }
 
+    /* Class SortTask
+     * Fork-join task sorting a list by sorting its 2 halves in parallel (split
+     *  further until small enough to sort alone) & merging them
+     */
+    private class SortTask extends RecursiveAction
+    {
+        //CLASS FIELDS
+        private DSALinkedList list; //List sorted by task
+        private boolean descending;
+
+        /* Alternate Constructor
+         */
+        private SortTask(DSALinkedList inList, boolean inDescending)
+        {
+            list = inList;
+            descending = inDescending;
+        }
+
+        /* Sorts task's list (or splits it between 2 subtasks & merges them)
+         */
+        protected void compute()
+        {
+            DSALinkedList second;
+
+            if (list.count <= PARALLEL_MIN)
+            {
+                list.sort(descending);
+            }
+            else
+            {
+                second = list.splitAfter(list.count / 2 - 1);
+                invokeAll(new SortTask(list, descending),
+                        new SortTask(second, descending));
+                list.mergeList(second, descending);
+            }
+        }
+    }
+
     //CONSTRUCTORS
     /* Default Constructor
      */
@@ -302,281 +346,316 @@ public class DSALinkedList implements Iterable, Serializable
     }
 
     /* Sorts nodes in link list in ascending order based on comparable
-     *  comparison of node values, algorithm used is effectively quicksort
-     *  REFERENCE: Algorithm, recursive components and getMid are based on
-     *      https://www.geeksforgeeks.org/merge-sort-for-linked-list/ (Retrieved
-     *      2019)
+     *  comparison of node values. Sort is a stable bottom-up merge sort that
+     *  relinks the list's existing nodes (so allocates nothing & does not
+     *  recurse).
      */
     public void sortAsc()
     {
-        head = mergeSortRecAsc(head);
-
-        if (head != null)
-        {
-            /*Setting tail to end of link chain of new head exported by sort (since
-                sorting does not modify the tail)*/
-            DSAListNode curNode = head;
-            while (curNode.next != null)
-            {
-                curNode = curNode.next;
-            }
-            tail = curNode;
-        }
-        else
-        {
-            tail = null;
-        }
+        sort(false);
     }
 
-    /*Recursive method for descending merge sort. Splits input section by
-     *  setting 'next' of imported node to null.
+    /* Sorts nodes in link list in ascending order (as above), splitting the
+     *  sort of large lists between the threads of the imported pool
      */
-    private DSAListNode mergeSortRecAsc(DSAListNode firstNode)
+    public void sortAsc(ForkJoinPool pool)
     {
-        if (firstNode != null && firstNode.next != null) /*If list can still
-            be split further*/
-        {
-            //Getting middle of list section for splitting
-            DSAListNode midNode = getMid(firstNode);
-            DSAListNode section2FirstNode = midNode.next;
+        sortParallel(pool, false);
+    }
 
-            /*Splitting list (by setting next of first segment's last node to
-                null*/
-            midNode.next = null;
+    /* Sorts nodes in link list in descending order based on comparable
+     *  comparison of node values. Sort is stable (equal values keep their
+     *  order) & works as sortAsc does.
+     */
+    public void sortDesc()
+    {
+        sort(true);
+    }
 
-            //Recursively applying mergesort to created list segments
-            firstNode = mergeSortRecAsc(firstNode);
-            section2FirstNode = mergeSortRecAsc(section2FirstNode);
+    /* Sorts nodes in link list in descending order (as above), splitting the
+     *  sort of large lists between the threads of the imported pool
+     */
+    public void sortDesc(ForkJoinPool pool)
+    {
+        sortParallel(pool, true);
+    }
 
-            /*Merging 2 segments (now sorted) together to form fully sorted
-                segment*/
-            firstNode = mergeAsc(firstNode, section2FirstNode);
-        }
+    //ACCESSORS
+    /* Returns an iterator for this list
+     */
+    public Iterator iterator()
+    {
+        //Creating & returning iterator for this linked list
+        return new DSALinkedListIterator(this);
+    }
 
-        return firstNode;
+    /*Returns number of items currently in list
+     */
+    public int getCount()
+    {
+        return count;
     }
 
-    /* Merges 2 imported ListNode chains together in ascending order, returns
-     *  first node of completed chain.
+    /* Returns whether list is currently empty
      */
-    private DSAListNode mergeAsc(DSAListNode firstNodeLeft,
-                                 DSAListNode firstNodeRight)
+    public boolean isEmpty()
     {
-        DSALinkedList temp = new DSALinkedList();
-        DSAListNode curLeft = firstNodeLeft;
-        DSAListNode curRight = firstNodeRight;
+        return (head == null);
+    }
 
-        while (curLeft != null && curRight != null)
-        {
-            if (((Comparable) curLeft.value).compareTo(
-                    (Comparable) curRight.value) < 0) /*If current node of left
-                    section has smaller value than current node of right
-                    section*/
-            {
-                temp.insertLast(curLeft.value);
-                curLeft = curLeft.next;
-            }
-            else //If current right is smaller
-            {
-                temp.insertLast(curRight.value);
-                curRight = curRight.next;
-            }
-        }
+    /* Returns value of first node in list
+     */
+    public Object peekFirst()
+    {
+        Object nodeValue;
 
-        //Flushing rest of nodes into sorted segments
-        while (curLeft != null)
+        if (isEmpty())
         {
-            temp.insertLast(curLeft.value);
-            curLeft = curLeft.next;
+            throw new IllegalArgumentException("List is empty");
         }
-        while (curRight != null)
+        else
         {
-            temp.insertLast(curRight.value);
-            curRight = curRight.next;
+            //Getting value of head node to return
+            nodeValue = head.value;
         }
 
-        return temp.head;
+        return nodeValue;
     }
 
-    /* Returns node at middle of list (i.e. between imported list & end node
-     *  which has null as its next)
+    /* Returns value of last node in list
      */
-    private DSAListNode getMid(DSAListNode startNode)
+    public Object peekLast()
     {
-        DSAListNode singleStep = startNode;
-        DSAListNode doubleStep = startNode;
+        Object nodeValue;
 
-        /*Stepping through linked list at single & double rate (singe rate
-            will always be halfway as far through list as double step)*/
-        while (doubleStep.next != null && doubleStep.next.next != null)
+        if (isEmpty())
         {
-            singleStep = singleStep.next;
-            doubleStep = doubleStep.next.next;
+            throw new IllegalArgumentException("List is empty");
+        }
+        else
+        {
+            //Getting value of tail node to return
+            nodeValue = tail.value;
         }
 
-        /*Getting middle node as single step (since if double step reached end
-            of list, single step should be halfway through list*/
-        DSAListNode midNode = singleStep;
-
-        return midNode;
+        return nodeValue;
     }
 
-    /* Sorts nodes in link list in descending order based on comparable
-     *  comparison of node values, algorithm used is effectively bubble sort
-     *  REFERENCE: Algorithm, recursive components and getMid are based on
-     *      https://www.geeksforgeeks.org/merge-sort-for-linked-list/ (Retrieved
-     *      2019)
+    //PRIVATE METHODS
+    /* Sorts list (descendingly if imported boolean is true, ascendingly
+     *  otherwise) by a bottom-up merge that takes one node at a time &
+     *  merges pending runs as a binary counter would (merging the newest 2
+     *  runs whenever they are the same length), so runs are merged while
+     *  still in cache. Pending runs are kept as a stack linked by the
+     *  previous node of each run's first node (previous links are only
+     *  restored by the last merge).
      */
-    public void sortDesc()
+    private void sort(boolean descending)
     {
-        head = mergeSortRecDesc(head);
+        DSAListNode curNode = head;
+        DSAListNode nextNode, below, merged;
+        DSAListNode pending = null; //First node of newest pending run
+        int taken = 0; //Number of nodes taken from list so far
 
-        if (head != null)
+        while (curNode != null)
         {
-            /*Setting tail to end of link chain of new head exported by sort (since
-                sorting does not modify the tail)*/
-            DSAListNode curNode = head;
-            while (curNode.next != null)
+            //Pushing current node onto pending runs as a run of its own
+            nextNode = curNode.next;
+            curNode.next = null;
+            curNode.prev = pending;
+            pending = curNode;
+
+            //Merging runs of equal length (one merge per trailing 1 bit)
+            for (int bits = taken; (bits & 1) == 1; bits >>= 1)
             {
-                curNode = curNode.next;
+                below = pending.prev;
+                merged = mergeRuns(below, pending, descending);
+                merged.prev = below.prev;
+                pending = merged;
             }
-            tail = curNode;
+
+            taken++;
+            curNode = nextNode;
+        }
+
+        //Merging left over runs from newest to oldest
+        while (pending != null && pending.prev != null &&
+                pending.prev.prev != null) //While more than 2 runs left
+        {
+            below = pending.prev;
+            merged = mergeRuns(below, pending, descending);
+            merged.prev = below.prev;
+            pending = merged;
+        }
+
+        //Last merge relinks previous nodes & finds the tail
+        if (pending != null && pending.prev != null)
+        {
+            tail = mergeLinked(pending.prev, pending, descending);
         }
         else
         {
-            tail = null;
+            tail = mergeLinked(pending, null, descending);
         }
     }
 
-    /*Recursive method for descending merge sort. Splits input section by
-     *  setting 'next' of imported node to null.
+    /* Sorts list as above, sorting halves of lists larger than PARALLEL_MIN in
+     *  parallel (using the imported pool) & merging them
      */
-    private DSAListNode mergeSortRecDesc(DSAListNode firstNode)
+    private void sortParallel(ForkJoinPool pool, boolean descending)
     {
-        if (firstNode != null && firstNode.next != null) /*If list can still
-            be split further*/
+        if (count <= PARALLEL_MIN)
+        {
+            sort(descending);
+        }
+        else
         {
-            //Getting middle of list section for splitting
-            DSAListNode midNode = getMid(firstNode);
-            DSAListNode section2FirstNode = midNode.next;
+            pool.invoke(new SortTask(this, descending));
+        }
+    }
 
-            /*Splitting list (by setting next of first segment's last node to
-                null*/
-            midNode.next = null;
+    /* Merges the 2 imported (non-empty) sorted chains of nodes (each ending
+     *  with null) by relinking their next nodes only, returning first node
+     *  of merged chain
+     */
+    private DSAListNode mergeRuns(DSAListNode left, DSAListNode right,
+                                  boolean descending)
+    {
+        DSAListNode first, last;
 
-            //Recursively applying mergesort to created list segments
-            firstNode = mergeSortRecDesc(firstNode);
-            section2FirstNode = mergeSortRecDesc(section2FirstNode);
+        if (goesFirst(left, right, descending))
+        {
+            first = left;
+            left = left.next;
+        }
+        else
+        {
+            first = right;
+            right = right.next;
+        }
 
-            /*Merging 2 segments (now sorted) together to form fully sorted
-                segment*/
-            firstNode = mergeDesc(firstNode, section2FirstNode);
+        last = first;
+        while (left != null && right != null)
+        {
+            if (goesFirst(left, right, descending))
+            {
+                last.next = left;
+                last = left;
+                left = left.next;
+            }
+            else
+            {
+                last.next = right;
+                last = right;
+                right = right.next;
+            }
         }
+        last.next = (left != null) ? left : right;
 
-        return firstNode;
+        return first;
     }
 
-    /* Merges 2 imported ListNode chains together in ascending order, returns
-     *  first node of completed chain.
+    /* Merges the 2 imported sorted chains of nodes (each ending with null)
+     *  into this list's chain of nodes, relinking the existing nodes in both
+     *  directions. Nodes of the left chain go first when equal (keeping sort
+     *  stable). Returns last node of merged chain (null if both empty).
      */
-    private DSAListNode mergeDesc(DSAListNode firstNodeLeft,
-                                  DSAListNode firstNodeRight)
+    private DSAListNode mergeLinked(DSAListNode left, DSAListNode right,
+                                    boolean descending)
     {
-        DSALinkedList temp = new DSALinkedList();
-        DSAListNode curLeft = firstNodeLeft;
-        DSAListNode curRight = firstNodeRight;
+        DSAListNode nextNode;
+        DSAListNode last = null; //Last node linked so far
 
-        while (curLeft != null && curRight != null)
+        while (left != null && right != null)
         {
-            if (((Comparable) curLeft.value).compareTo(
-                    (Comparable) curRight.value) >= 0) /*If current node of left
-                    section has larger value than current node of right
-                    section (Equal to to maintain reverse sort as stable as
-                    left list's elements are then still added first)*/
+            if (goesFirst(left, right, descending))
             {
-                temp.insertLast(curLeft.value);
-                curLeft = curLeft.next;
+                nextNode = left;
+                left = left.next;
             }
-            else //If current right is larger
+            else
             {
-                temp.insertLast(curRight.value);
-                curRight = curRight.next;
+                nextNode = right;
+                right = right.next;
             }
+            linkAfter(last, nextNode);
+            last = nextNode;
         }
 
-        //Flushing rest of nodes into sorted segments
-        while (curLeft != null)
+        //Linking rest of the unfinished chain (to set its previous nodes)
+        nextNode = (left != null) ? left : right;
+        while (nextNode != null)
         {
-            temp.insertLast(curLeft.value);
-            curLeft = curLeft.next;
-        }
-        while (curRight != null)
-        {
-            temp.insertLast(curRight.value);
-            curRight = curRight.next;
+            linkAfter(last, nextNode);
+            last = nextNode;
+            nextNode = nextNode.next;
         }
 
-        return temp.head;
+        return last;
     }
 
-    //ACCESSORS
-    /* Returns an iterator for this list
+    /* Returns whether the imported left node goes before the imported right
+     *  node in a sort (true when equal, keeping sort stable)
      */
-    public Iterator iterator()
+    private boolean goesFirst(DSAListNode left, DSAListNode right,
+                              boolean descending)
     {
-        //Creating & returning iterator for this linked list
-        return new DSALinkedListIterator(this);
-    }
+        int comparison = ((Comparable)left.value).compareTo(right.value);
 
-    /*Returns number of items currently in list
-     */
-    public int getCount()
-    {
-        return count;
-    }
-
-    /* Returns whether list is currently empty
-     */
-    public boolean isEmpty()
-    {
-        return (head == null);
+        return descending ? comparison >= 0 : comparison <= 0;
     }
 
-    /* Returns value of first node in list
+    /* Links the imported node after the imported last node (as head if last
+     *  node is null)
      */
-    public Object peekFirst()
+    private void linkAfter(DSAListNode last, DSAListNode node)
     {
-        Object nodeValue;
-
-        if (isEmpty())
+        if (last == null)
         {
-            throw new IllegalArgumentException("List is empty");
+            head = node;
         }
         else
         {
-            //Getting value of head node to return
-            nodeValue = head.value;
+            last.next = node;
         }
-
-        return nodeValue;
+        node.prev = last;
     }
 
-    /* Returns value of last node in list
+    /* Moves the nodes after the imported position (starting at 0) into a new
+     *  list which is returned
      */
-    public Object peekLast()
+    private DSALinkedList splitAfter(int position)
     {
-        Object nodeValue;
+        DSALinkedList second = new DSALinkedList();
+        DSAListNode curNode = head;
 
-        if (isEmpty())
-        {
-            throw new IllegalArgumentException("List is empty");
-        }
-        else
+        for (int ii = 0; ii < position; ii++)
         {
-            //Getting value of tail node to return
-            nodeValue = tail.value;
+            curNode = curNode.next;
         }
 
-        return nodeValue;
+        second.head = curNode.next;
+        second.tail = tail;
+        second.count = count - position - 1;
+        second.head.prev = null;
+        curNode.next = null;
+        tail = curNode;
+        count = position + 1;
+
+        return second;
+    }
+
+    /* Merges the nodes of the imported sorted list into this sorted list
+     *  (this list's nodes go first when equal), leaving the imported list
+     *  empty
+     */
+    private void mergeList(DSALinkedList second, boolean descending)
+    {
+        tail = mergeLinked(head, second.head, descending);
+        count += second.count;
+
+        second.head = null;
+        second.tail = null;
+        second.count = 0;
     }
 }
@@ -99,6 +99,15 @@ public class FileManager
         return lineList;
     }
 
+    /* Opens the file with the imported name for reading line by line through
+     *  a memory-mapped window of the file (so the lines are never all held in
+     *  memory at once). The returned reader must be closed once finished with.
+     */
+    public static MappedLineReader openMappedFile(String filename)
+    {
+        return new MappedLineReader(filename);
+    }
+
     /* Creates a logfile name for the imported network being run in simulation
      *  mode based on the name of the input network & events files and the
      *  current time.
@@ -0,0 +1,158 @@
+/* Log Writer by Moritz Bergemann
+ * Writes the lines of a simulation log as they are produced, either to a file
+ *  that is kept open (& buffered) for the whole simulation or to an in-memory
+ *  linked list of lines
+ * Created Date: 17/10/2026
+ */
+
+import java.io.*;
+
+public class LogWriter
+{
+    //CONSTANTS
+    public static final int BUFFER_SIZE = 1024 * 1024; /*Number of characters
+        buffered before being written to file*/
+
+    //CLASS FIELDS
+    private Writer fileWriter; //Writer for log file (null if writing to list)
+    private DSALinkedList lineList; //List of lines (null if writing to file)
+    private int flushInterval; /*Number of timesteps between flushes of log file
+        (0 to only flush when full or closed)*/
+    private int stepsSinceFlush; //Timesteps ended since log file last flushed
+
+    //CONSTRUCTORS
+    /* Default Constructor (writes lines to an in-memory list)
+     */
+    public LogWriter()
+    {
+        fileWriter = null;
+        lineList = new DSALinkedList();
+        flushInterval = 0;
+        stepsSinceFlush = 0;
+    }
+
+    /* Alternate Constructor (opens log file with imported name, overwriting it
+     *  if append is false). Throws exception if file cannot be opened.
+     */
+    public LogWriter(String filename, boolean append, int inFlushInterval)
+    {
+        if (inFlushInterval < 0)
+        {
+            throw new IllegalArgumentException("Flush interval cannot be " +
+                    "negative");
+        }
+
+        try
+        {
+            fileWriter = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(filename, append)), BUFFER_SIZE);
+        }
+        catch (IOException io)
+        {
+            throw new IllegalArgumentException("Failed to open file: " +
+                    io.getMessage());
+        }
+
+        lineList = null;
+        flushInterval = inFlushInterval;
+        stepsSinceFlush = 0;
+    }
+
+    //MUTATORS
+    /* Writes the imported line to the log
+     */
+    public void writeLine(String line)
+    {
+        if (fileWriter == null) //If writing to list
+        {
+            lineList.insertLast(line);
+        }
+        else
+        {
+            try
+            {
+                fileWriter.write(line);
+                fileWriter.write(System.lineSeparator());
+            }
+            catch (IOException io)
+            {
+                throw new IllegalArgumentException("Failed to write to file: "
+                        + io.getMessage());
+            }
+        }
+    }
+
+    /* Marks the end of a timestep's log, flushing the log file if the flush
+     *  interval has been reached
+     */
+    public void endTimeStep()
+    {
+        stepsSinceFlush++;
+
+        if (flushInterval > 0 && stepsSinceFlush >= flushInterval)
+        {
+            flushFile();
+        }
+    }
+
+    /* Writes all buffered lines to the log file
+     */
+    public void flush()
+    {
+        flushFile();
+    }
+
+    /* Flushes & closes the log file (does nothing if writing to list)
+     */
+    public void close()
+    {
+        if (fileWriter != null)
+        {
+            try
+            {
+                fileWriter.close();
+            }
+            catch (IOException io)
+            {
+                throw new IllegalArgumentException("Failed to close file: " +
+                        io.getMessage());
+            }
+        }
+    }
+
+    //ACCESSORS
+    /* Returns list of lines written so far, throws exception if writing to
+     *  file
+     */
+    public DSALinkedList getLines()
+    {
+        if (lineList == null)
+        {
+            throw new IllegalArgumentException("Log is being written to file");
+        }
+
+        return lineList;
+    }
+
+    //PRIVATE METHODS
+    /* Flushes log file (not overridable, so subclasses may redefine flush
+     *  without changing periodic flushing done by endTimeStep)
+     */
+    private void flushFile()
+    {
+        if (fileWriter != null)
+        {
+            try
+            {
+                fileWriter.flush();
+            }
+            catch (IOException io)
+            {
+                throw new IllegalArgumentException("Failed to write to file: "
+                        + io.getMessage());
+            }
+        }
+
+        stepsSinceFlush = 0;
+    }
+}
@@ -0,0 +1,286 @@
+/* Mapped Line Reader by Moritz Bergemann
+ * Reads the lines of a text file through a memory-mapped window of the file,
+ *  giving access to the bytes of the current line in place so that callers
+ *  only create strings for the parts of a line they actually need (rather
+ *  than reading every line of the file into a list first)
+ * Created Date: 17/10/2026
+ */
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+public class MappedLineReader
+{
+    //CONSTANTS
+    public static final long MAP_WINDOW = 256L * 1024 * 1024; /*Maximum number
+        of bytes of file mapped at once*/
+
+    //CLASS FIELDS
+    private RandomAccessFile file; //File being read
+    private FileChannel channel; //Channel of file being read
+    private long fileSize; //Size of file in bytes
+    private long rangeEnd; /*Position before which lines must start to be read
+        by this reader*/
+    private MappedByteBuffer window; //Currently mapped part of file
+    private long windowStart; //Position in file of first byte of window
+    private long lineStart; //Position in file of first byte of current line
+    private int lineLength; //Length of current line (excluding line break)
+    private long nextLineStart; //Position in file of first byte of next line
+    private int lineNum; //Number of lines read so far
+    private Charset charset; //Character set used to decode strings
+    private byte[] decodeBuffer; //Buffer for copying bytes to decode
+
+    //CONSTRUCTORS
+    /* Alternate Constructor (reads all lines of file with imported name),
+     *  throws exception if file cannot be opened
+     */
+    public MappedLineReader(String filename)
+    {
+        this(filename, 0L, Long.MAX_VALUE);
+    }
+
+    /* Alternate Constructor (reads lines of file with imported name that start
+     *  at or after the imported start position & before the imported end
+     *  position, so a file can be split into byte ranges that are each read
+     *  by a separate reader), throws exception if file cannot be opened
+     */
+    public MappedLineReader(String filename, long start, long end)
+    {
+        if (start < 0 || end < start)
+        {
+            throw new IllegalArgumentException("Invalid range of file to read");
+        }
+
+        try
+        {
+            file = new RandomAccessFile(filename, "r");
+            channel = file.getChannel();
+            fileSize = channel.size();
+        }
+        catch (IOException io)
+        {
+            close();
+            throw new IllegalArgumentException("Failed to read file: " +
+                    io.getMessage());
+        }
+
+        rangeEnd = Math.min(end, fileSize);
+        window = null;
+        windowStart = 0L;
+        lineStart = start;
+        lineLength = 0;
+        nextLineStart = start;
+        lineNum = 0;
+        charset = Charset.defaultCharset();
+        decodeBuffer = new byte[64];
+
+        /*Skipping partial line at start of range (it belongs to the reader of
+            the previous range)*/
+        if (start > 0 && start < fileSize)
+        {
+            if (byteAtPosition(start - 1) != '\n')
+            {
+                nextLineStart = findLineBreak(start) + 1;
+            }
+        }
+    }
+
+    //MUTATORS
+    /* Moves to the next line of the file, returning false if there are no
+     *  more lines to read
+     */
+    public boolean nextLine()
+    {
+        boolean hasLine = false;
+        long lineBreak;
+
+        if (nextLineStart < rangeEnd)
+        {
+            lineStart = nextLineStart;
+            lineBreak = findLineBreak(lineStart);
+
+            if (lineBreak - lineStart > Integer.MAX_VALUE)
+            {
+                throw new IllegalArgumentException("Failed to read file: " +
+                        "line " + (lineNum + 1) + " is too long");
+            }
+
+            nextLineStart = lineBreak + 1;
+            lineLength = (int)(lineBreak - lineStart);
+
+            //Not counting carriage return of Windows line break as part of line
+            if (lineLength > 0 && byteAt(lineLength - 1) == '\r')
+            {
+                lineLength--;
+            }
+
+            lineNum++;
+            hasLine = true;
+        }
+
+        return hasLine;
+    }
+
+    /* Releases the file being read (the reader cannot be used afterwards)
+     */
+    public void close()
+    {
+        window = null;
+
+        if (file != null)
+        {
+            try
+            {
+                file.close();
+            }
+            catch (IOException io)
+            {
+                //Nothing more can be done if closing fails
+            }
+            file = null;
+        }
+    }
+
+    //ACCESSORS
+    /* Returns number of lines read so far (i.e. line number of current line
+     *  within the lines read by this reader)
+     */
+    public int getLineNum()
+    {
+        return lineNum;
+    }
+
+    /* Returns length of current line in bytes (excluding line break)
+     */
+    public int length()
+    {
+        return lineLength;
+    }
+
+    /* Returns byte at the imported index of the current line
+     */
+    public byte byteAt(int index)
+    {
+        return byteAtPosition(lineStart + index);
+    }
+
+    /* Returns index of first occurrence of imported character (which must be
+     *  ASCII) in current line at or after imported index, or -1 if none
+     */
+    public int indexOf(char ch, int fromIndex)
+    {
+        int foundIndex = -1;
+
+        for (int ii = fromIndex; ii < lineLength && foundIndex < 0; ii++)
+        {
+            if (byteAt(ii) == ch)
+            {
+                foundIndex = ii;
+            }
+        }
+
+        return foundIndex;
+    }
+
+    /* Returns the part of the current line from the imported start index
+     *  (inclusive) to the imported end index (exclusive) as a string
+     */
+    public String getString(int from, int to)
+    {
+        int length = to - from;
+
+        if (from < 0 || to > lineLength || length < 0)
+        {
+            throw new IllegalArgumentException("Invalid range of line");
+        }
+
+        if (decodeBuffer.length < length)
+        {
+            decodeBuffer = new byte[Math.max(length, decodeBuffer.length * 2)];
+        }
+
+        for (int ii = 0; ii < length; ii++)
+        {
+            decodeBuffer[ii] = byteAt(from + ii);
+        }
+
+        return new String(decodeBuffer, 0, length, charset);
+    }
+
+    /* Returns the part of the current line between the imported indexes as a
+     *  string with leading & trailing whitespace removed (as String.trim)
+     */
+    public String getTrimmedString(int from, int to)
+    {
+        //Moving indexes past whitespace (all whitespace bytes are ASCII)
+        while (from < to && (byteAt(from) & 0xFF) <= ' ')
+        {
+            from++;
+        }
+        while (to > from && (byteAt(to - 1) & 0xFF) <= ' ')
+        {
+            to--;
+        }
+
+        return getString(from, to);
+    }
+
+    /* Returns the whole current line as a string
+     */
+    public String getLine()
+    {
+        return getString(0, lineLength);
+    }
+
+    //PRIVATE METHODS
+    /* Returns position of line break ending the line starting at the imported
+     *  position (or size of file if the line is not ended by a line break)
+     */
+    private long findLineBreak(long start)
+    {
+        long pos = start;
+
+        while (pos < fileSize && byteAtPosition(pos) != '\n')
+        {
+            pos++;
+        }
+
+        return pos;
+    }
+
+    /* Returns byte at imported position in file, mapping the part of the file
+     *  containing it if not currently mapped
+     */
+    private byte byteAtPosition(long pos)
+    {
+        if (window == null || pos < windowStart ||
+                pos >= windowStart + window.limit())
+        {
+            /*Starting new window at start of current line where possible, so
+                the whole line stays accessible once it has been found*/
+            mapWindow((pos >= lineStart && pos - lineStart < MAP_WINDOW / 2) ?
+                    lineStart : pos);
+        }
+
+        return window.get((int)(pos - windowStart));
+    }
+
+    /* Maps the part of the file starting at the imported position
+     */
+    private void mapWindow(long start)
+    {
+        try
+        {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(MAP_WINDOW, fileSize - start));
+            windowStart = start;
+        }
+        catch (IOException io)
+        {
+            throw new IllegalArgumentException("Failed to read file: " +
+                    io.getMessage());
+        }
+    }
+}
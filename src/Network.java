@@ -6,14 +6,36 @@
  */
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.SplittableRandom;
 
 public class Network extends DSAGraph
 {
+    //CONSTANTS
+    private static final int FRONTIER_START = 8; /*Initial length of each
+        post's users to like/shared arrays*/
+
     //CLASS FIELDS
     private DSALinkedList posts; //List of all posts made in this network
+    private Post[] postsById; /*All posts made in this network indexed by id
+        (may have unused space at end)*/
+    private Post[] activePosts; /*Posts that may still be shared, in the order
+        they were made (may have unused space at end & may hold posts that
+        went stale since the last timestep until they are compacted away)*/
+    private int activeCount; //Number of used places in active posts array
     private int curTime;
     private double likeChance; //Chance of liking a post
     private double followChance;
+    private int threadCount; /*Number of threads used to spread posts in each
+        timestep (1 for sequential)*/
+    private ForkJoinPool pool; //Thread pool for parallel timesteps
+    private SplittableRandom random; /*Generator from which each new post's own
+        random number generator is split*/
+    private DSALinkedList changeLog; /*Records of changes made to network since
+        changes were last taken (null if changes are not being recorded)*/
+    private NetworkMetrics metrics; /*Counters & histograms of what timesteps
+        did (null if metrics are not being recorded)*/
 
     //PRIVATE INNER CLASSES
     /* Stores user information (excluding the user name as this will be the
@@ -67,24 +89,36 @@ public class Network extends DSAGraph
     private class Post implements Comparable<Post>
     {
         //CLASS FIELDS
+        private int id; /*Position of post in order posts were made (starting
+            at 0)*/
         private String op; //Label of original poster
         private String content; //Actual content of post
         private int likes; //Number of likes post has received
         private int createdTime; //Timestep post was created
         private double clickbait; //Clickbait factor (like chance multiplier)
+        private SplittableRandom random; /*Random number generator for chances
+            involving this post (separate per post so posts can be spread in
+            parallel & results are reproducible for a given seed)*/
         private boolean stale; //Whether post can be shared any further
         private DSALinkedList usersLiked; //Users who have liked this post
-        private DSALinkedList usersSeen; /*Users who have had this post shared
-            to them*/
-        private DSALinkedList usersToLike; /*Users who will have a chance to
-            like/share the next post in the next timestep*/
+        private DSABitSet usersSeen; /*Ids of users who have had this post
+            shared to them*/
+        private int[] usersToLike; /*Ids of users who will have a chance to
+            like/share the post in the next timestep (null once stale)*/
+        private int toLikeCount; //Number of used places in users to like
+        private int[] usersShared; /*Ids of users the post has been shared to
+            in the current timestep (swapped with users to like at the end of
+            each timestep so neither array is reallocated)*/
+        private int sharedCount; //Number of used places in users shared
 
         /* Alternate Constructor
          */
         private Post(String inOP, String inContent, double inClickbait,
                      int inCreatedTime)
         {
-            if (!hasVertex(inOP)) /*If network doesn't have user with imported
+            DSAGraphVertex opVertex = findVertex(inOP);
+
+            if (opVertex == null) /*If network doesn't have user with imported
                 name*/
             {
                 throw new IllegalArgumentException("User to make post does" +
@@ -108,25 +142,96 @@ public class Network extends DSAGraph
             }
             else
             {
+                id = posts.getCount();
                 op = inOP;
                 content = inContent;
                 likes = 0; //Likes starts initially at 0
                 createdTime = inCreatedTime;
                 clickbait = inClickbait;
+                random = Network.this.random.split();
                 stale = false;
                 usersLiked = new DSALinkedList(); /*String labels of users who
                     have liked this post*/
-                usersSeen = new DSALinkedList(); /*String labels of users who
-                    have had this post shared with them*/
-                usersToLike = new DSALinkedList();
+                usersSeen = new DSABitSet(getVertexIdLimit()); /*Ids of users
+                    who have had this post shared with them*/
+                usersToLike = new int[FRONTIER_START];
+                toLikeCount = 0;
+                usersShared = new int[FRONTIER_START];
+                sharedCount = 0;
 
                 /*Adding OP to list of users who have had this post shared with
                    them (so that OP does not have their own post shared to
                    them)*/
-                usersSeen.insertLast(inOP);
+                usersSeen.set(opVertex.id);
             }
         }
 
+        /* Alternate Constructor (restores post from a network log, so imported
+         *  values are assumed valid & OP does not have to exist)
+         */
+        private Post(int inId, String inOP, String inContent,
+                     double inClickbait, int inCreatedTime)
+        {
+            id = inId;
+            op = inOP;
+            content = inContent;
+            likes = 0;
+            createdTime = inCreatedTime;
+            clickbait = inClickbait;
+            random = Network.this.random.split();
+            stale = false;
+            usersLiked = new DSALinkedList();
+            usersSeen = new DSABitSet(getVertexIdLimit());
+            usersToLike = new int[FRONTIER_START];
+            toLikeCount = 0;
+            usersShared = new int[FRONTIER_START];
+            sharedCount = 0;
+        }
+
+        //PRIVATE MUTATORS
+        /* Adds the imported user id to the users the post has been shared to
+         *  this timestep
+         */
+        private void addShared(int inId)
+        {
+            int[] newShared;
+
+            if (sharedCount == usersShared.length) //If array is full
+            {
+                newShared = new int[usersShared.length * 2];
+                System.arraycopy(usersShared, 0, newShared, 0, sharedCount);
+                usersShared = newShared;
+            }
+
+            usersShared[sharedCount] = inId;
+            sharedCount++;
+        }
+
+        /* Makes the users the post was shared to this timestep the users to
+         *  like it next timestep (reusing the old users to like array for the
+         *  next timestep's shares)
+         */
+        private void swapFrontier()
+        {
+            int[] oldToLike = usersToLike;
+
+            usersToLike = usersShared;
+            toLikeCount = sharedCount;
+            usersShared = oldToLike;
+            sharedCount = 0;
+        }
+
+        /* Marks the post as stale & releases its users to like/shared arrays
+         */
+        private void makeStale()
+        {
+            stale = true;
+            usersToLike = null;
+            toLikeCount = 0;
+            usersShared = null;
+            sharedCount = 0;
+        }
+
         //PUBLIC ACCESSORS
         /* Compares this post to another post by the number of likes
          */
@@ -168,6 +273,60 @@ public class Network extends DSAGraph
         }
     }
 
+    /* Fork-join task spreading a range of posts for a parallel timestep
+     *  (splits range in half until small enough to process directly)
+     */
+    private class PropagateTask extends RecursiveAction
+    {
+        //CONSTANTS
+        private static final int MIN_SPLIT = 4; /*Maximum number of posts a
+            task processes without splitting further*/
+
+        //CLASS FIELDS
+        private Post[] taskPosts; //Posts being spread this timestep
+        private DSALinkedList[] followBuffers; //Buffered follows of each post
+        private DSALinkedList[] changeBuffers; //Recorded changes of each post
+        private int start; //Index of first post in task's range
+        private int end; //Index after last post in task's range
+
+        /* Alternate Constructor
+         */
+        private PropagateTask(Post[] inPosts, DSALinkedList[] inBuffers,
+                              DSALinkedList[] inChangeBuffers, int inStart,
+                              int inEnd)
+        {
+            taskPosts = inPosts;
+            followBuffers = inBuffers;
+            changeBuffers = inChangeBuffers;
+            start = inStart;
+            end = inEnd;
+        }
+
+        /* Spreads posts in task's range (or splits range between 2 subtasks)
+         */
+        protected void compute()
+        {
+            int mid;
+
+            if (end - start <= MIN_SPLIT)
+            {
+                for (int ii = start; ii < end; ii++)
+                {
+                    propagatePost(taskPosts[ii], followBuffers[ii],
+                            changeBuffers[ii]);
+                }
+            }
+            else
+            {
+                mid = (start + end) / 2;
+                invokeAll(new PropagateTask(taskPosts, followBuffers,
+                                changeBuffers, start, mid),
+                        new PropagateTask(taskPosts, followBuffers,
+                                changeBuffers, mid, end));
+            }
+        }
+    }
+
     //CONSTRUCTORS
     /* Default Constructor
      */
@@ -175,11 +334,76 @@ public class Network extends DSAGraph
     {
         super(); //Constructing DSAGraph Superclass
         posts = new DSALinkedList();
+        postsById = new Post[16];
+        activePosts = new Post[16];
+        activeCount = 0;
         curTime = 0;
 
         //Like & follow probabilities default to 0.5
         likeChance = 0.5;
         followChance = 0.5;
+
+        //Timesteps are run sequentially by default
+        threadCount = 1;
+        pool = null;
+
+        //Random number generator is unseeded by default
+        random = new SplittableRandom();
+
+        //Changes are not recorded by default
+        changeLog = null;
+
+        //Metrics are not recorded by default
+        metrics = null;
+    }
+
+    /* Alternate Constructor (bulk-builds network from imported user names &
+     *  relationships, where user followerIds[i] follows user followedIds[i]
+     *  (as indexes into the user name array). Follower & following counts are
+     *  calculated in bulk & the graph is built in a single O(E log E) pass,
+     *  so this is intended for inputs that are already valid, e.g. snapshots
+     *  & generated networks. Throws exception if a user name contains a colon,
+     *  a user follows themselves or users/relationships are duplicated.
+     */
+    public Network(String[] userNames, int[] followedIds, int[] followerIds)
+    {
+        this();
+
+        UserInfo[] userInfos = new UserInfo[userNames.length];
+
+        for (int ii = 0; ii < userNames.length; ii++)
+        {
+            if (userNames[ii].indexOf(':') >= 0)
+            {
+                throw new IllegalArgumentException("User name cannot " +
+                        "contain semicolons (':')");
+            }
+            userInfos[ii] = new UserInfo(userNames[ii], curTime);
+        }
+
+        if (followedIds.length != followerIds.length) /*Checked before
+            self-follows (which read both arrays)*/
+        {
+            throw new IllegalArgumentException("Array lengths do not match");
+        }
+        for (int ii = 0; ii < followedIds.length; ii++)
+        {
+            if (followedIds[ii] == followerIds[ii])
+            {
+                throw new IllegalArgumentException("User cannot follow " +
+                        "themselves");
+            }
+        }
+
+        //Relationships point from followed to follower (as in addFollower)
+        super.bulkBuild(userNames, userInfos, followedIds, followerIds);
+
+        //Counting relationships of each user (ids checked by bulk build)
+        for (int ii = 0; ii < followedIds.length; ii++)
+        {
+            userInfos[followedIds[ii]].followers++;
+            userInfos[followerIds[ii]].following++;
+        }
     }
 
     /* Returns current timestep of network
@@ -214,10 +438,8 @@ public class Network extends DSAGraph
         DSALinkedList followerList = new DSALinkedList();
         if (super.hasVertex(inName))
         {
-            DSABinarySearchTree userAdjacencyList =
-                    super.getVertex(inName).adjacent;
-
-            Iterator adjIter = userAdjacencyList.iterator();
+            Iterator adjIter =
+                    super.adjacentIterator(super.getVertex(inName));
             while (adjIter.hasNext())
             {
                 followerList.insertLast(
@@ -246,6 +468,7 @@ public class Network extends DSAGraph
             try
             {
                 super.addVertex(inName, newUserInfo);
+                recordChange(changeLog, "A:" + inName);
             }
             catch (IllegalArgumentException i) /*If user with input name
                 already in network*/
@@ -286,6 +509,27 @@ public class Network extends DSAGraph
         return infoString;
     }
 
+    /* Returns the counters of the user with the imported name as an array of
+     *  {followers, following, number of posts, created time} (for saving
+     *  network snapshots), throws exception if user does not exist
+     */
+    public int[] getUserCounters(String inName)
+    {
+        DSAGraphVertex userVertex = super.findVertex(inName);
+        UserInfo inUserInfo;
+
+        if (userVertex == null)
+        {
+            throw new IllegalArgumentException("User does not exist in " +
+                    "network");
+        }
+
+        inUserInfo = (UserInfo) userVertex.value;
+
+        return new int[] {inUserInfo.followers, inUserInfo.following,
+                inUserInfo.numPosts, inUserInfo.createdTime};
+    }
+
     /*Returns a linked list of descriptions of all users in network ordered by
      *  number of followers (decreasing)
      */
@@ -305,7 +549,7 @@ public class Network extends DSAGraph
 
         /*Sorting list of user info by number of followers (using Comparable
             interface that userInfo implements)*/
-        userInfoList.sortDesc();
+        sortDesc(userInfoList);
 
         DSALinkedList userStringList = new DSALinkedList();
 
@@ -329,20 +573,37 @@ public class Network extends DSAGraph
         return super.vertices.getCount();
     }
 
-    /* Removes a user from the network via their name, throws exception if user
-     *  is not in network
+    /* Removes a user from the network via their name (along with their
+     *  relationships, updating the follower & following counts of the users
+     *  they were related to), throws exception if user is not in network
      */
     public void removeUser(String inName)
     {
-        try
-        {
-            super.removeVertex(inName);
-        }
-        catch (IllegalArgumentException i) //If user does not exist
+        DSAGraphVertex userVertex = super.findVertex(inName);
+        DSAGraphVertex[] followed, followers;
+
+        if (userVertex == null) //If user does not exist
         {
             throw new IllegalArgumentException("User does not exist in " +
                     "network");
         }
+
+        //Users followed by removed user lose a follower
+        followed = super.getInAdjacent(userVertex);
+        for (int ii = 0; ii < followed.length; ii++)
+        {
+            ((UserInfo)followed[ii].value).followers--;
+        }
+
+        //Followers of removed user are following one less user
+        followers = super.getAdjacent(userVertex);
+        for (int ii = 0; ii < followers.length; ii++)
+        {
+            ((UserInfo)followers[ii].value).following--;
+        }
+
+        super.removeVertex(inName);
+        recordChange(changeLog, "R:" + inName);
     }
 
     /* Adds a follower-followed relationship between the imported two users
@@ -380,6 +641,60 @@ public class Network extends DSAGraph
 
             //Increasing followed user's 'follower' count by 1
             ((UserInfo)super.getVertex(inUser2).value).followers++;
+
+            recordChange(changeLog, "F:" + inUser1 + ":" + inUser2);
+        }
+    }
+
+    /* Adds relationship where first imported user follows second without
+     *  changing the first user's 'following' count, for loaders that add
+     *  relationships from several threads at once. This is safe as long as
+     *  users are not added/removed meanwhile & all relationships for the same
+     *  followed user are added by the same thread (& relationships are stored
+     *  on heap). recountFollowing must be called once all relationships are
+     *  added. Throws exception if
+     *  relationship already exists or users are the same (both users are
+     *  assumed to exist).
+     */
+    public void addFollowerShared(String inUser1, String inUser2)
+    {
+        DSAGraphVertex followedVertex = super.getVertex(inUser2);
+        DSAGraphVertex followerVertex = super.getVertex(inUser1);
+
+        /*Self-relationship can never already exist, so checking this first
+            gives same result as addFollower*/
+        if (inUser1.equals(inUser2)) //If 2 imported names are the same
+        {
+            throw new IllegalArgumentException("User cannot follow themselves");
+        }
+
+        if (!super.adjacency.addShared(followedVertex.id,
+                followerVertex.id)) //If relationship already exists
+        {
+            throw new IllegalArgumentException("Relationship already exists");
+        }
+        ((UserInfo)followedVertex.value).followers++;
+    }
+
+    /* Recalculates the 'following' count of every user in the network from
+     *  the relationships in the network (see addFollowerShared)
+     */
+    public void recountFollowing()
+    {
+        Iterator vertexIter;
+        DSAGraphVertex curVertex;
+
+        //Relationships were added without updating the reversed edges
+        super.dropFrozenEdges();
+        super.rebuildInEdges();
+
+        //Users a user follows are the sources of relationships to them
+        vertexIter = super.vertices.iterator();
+        while (vertexIter.hasNext())
+        {
+            curVertex = (DSAGraphVertex)vertexIter.next();
+            ((UserInfo)curVertex.value).following =
+                    super.getInDegree(curVertex);
         }
     }
 
@@ -443,6 +758,8 @@ public class Network extends DSAGraph
 
             //Decreasing followed user's 'follower' count by 1
             ((UserInfo)super.getVertex(inUser2).value).followers--;
+
+            recordChange(changeLog, "U:" + inUser1 + ":" + inUser2);
         }
     }
 
@@ -463,7 +780,7 @@ public class Network extends DSAGraph
         }
 
         //Sorting created list (descendingly) by post's number of likes
-        sortedPosts.sortDesc();
+        sortDesc(sortedPosts);
 
         //Adding list of post info strings to list to return (from sorted list)
         Iterator sortedPostIter = sortedPosts.iterator();
@@ -495,14 +812,19 @@ public class Network extends DSAGraph
                 newPost = new Post(userName, content, inClickbait, curTime);
 
                 //Add post to list of posts
-                posts.insertLast(newPost);
+                addPost(newPost);
 
                 //Increase user's number of posts by 1
                 ((UserInfo)super.getVertex(userName).value).numPosts++;
 
+                recordChange(changeLog, "P:" + newPost.id + ":" + userName +
+                        ":" + curTime + ":" + inClickbait + ":" + content);
+
                 /*Do initial share of post to all of OP's
                     followers*/
-                sharePost(newPost, userName, newPost.usersToLike);
+                sharePost(newPost, super.findVertex(userName),
+                        (metrics == null) ? null : metrics.stripe());
+                newPost.swapFrontier();
             }
             catch (IllegalArgumentException i) /*If post
             constructor threw exception*/
@@ -519,45 +841,81 @@ public class Network extends DSAGraph
 
     /* Shares the imported post to all the followers of the imported user
      *  (given they have not already had the post shared with them). Adds
-     *  all users the post has been shared with to the imported linked list.
+     *  the ids of all users the post has been shared with to the post's users
+     *  shared this timestep. Followers are read from the graph's frozen view
+     *  where possible (see DSAGraph.freezeEdges), in the same order as the
+     *  user's adjacency tree. Once every user id in the graph has seen the
+     *  post, sharing cannot reach anyone new, so followers are not visited.
+     *  The share is recorded in the imported metrics stripe (if not null).
      */
-    private void sharePost(Post inPost, String inUser,
-                           DSALinkedList justSharedUsers)
+    private void sharePost(Post inPost, DSAGraphVertex userVertex,
+                           NetworkMetrics.Stripe stripe)
     {
         Iterator followerIter;
-        String curFollower;
+        int start, end;
+        int visited = 0; //Number of followers checked
+        int startShared = inPost.sharedCount;
 
-        if (super.hasVertex(inUser))
+        if (userVertex == null)
         {
-            followerIter = super.getVertex(inUser).adjacent.iterator();
-
-            while (followerIter.hasNext())
+            throw new IllegalArgumentException("User does not exist");
+        }
+        else if (inPost.usersSeen.getCount() >= super.getVertexIdLimit())
+            /*If post has already been shared to every user*/
+        {
+            //Nothing to do
+        }
+        else if (super.isFrozen(userVertex)) /*If user's followers have not
+            changed since frozen view was refreshed*/
+        {
+            start = super.frozenStart(userVertex);
+            end = super.frozenEnd(userVertex);
+            for (int ii = start; ii < end; ii++)
             {
-                curFollower = ((DSAGraphVertex)followerIter.next()).label;
-
-                if (!seenPost(inPost, curFollower)) /*If follower has not
-                    already seen the imported post*/
-                {
-                    /*Adding follower to list of users post has been shared with
-                        in this timestep*/
-                    justSharedUsers.insertLast(curFollower);
-
-                    /*Adding user to post's list of users it has been shared
-                        with*/
-                    inPost.usersSeen.insertLast(curFollower);
-                }
+                shareTo(inPost, super.frozenSink(ii));
             }
+            visited = end - start;
         }
         else
         {
-            throw new IllegalArgumentException("User does not exist");
+            followerIter = super.adjacentIterator(userVertex);
+            while (followerIter.hasNext())
+            {
+                shareTo(inPost, (DSAGraphVertex)followerIter.next());
+                visited++;
+            }
+        }
+
+        if (stripe != null) //If metrics are being recorded
+        {
+            stripe.share(visited, inPost.sharedCount - startShared);
+        }
+    }
+
+    /* Shares the imported post to the imported follower if they have not
+     *  already had it shared with them (adding their id to the post's users
+     *  shared this timestep)
+     */
+    private void shareTo(Post inPost, DSAGraphVertex curFollower)
+    {
+        if (!seenPost(inPost, curFollower)) /*If follower has not already seen
+            the imported post*/
+        {
+            /*Adding follower to list of users post has been shared with in
+                this timestep*/
+            inPost.addShared(curFollower.id);
+
+            //Adding user to post's set of users it has been shared with
+            inPost.usersSeen.set(curFollower.id);
         }
     }
 
     /* Increases the imported user's likes by 1 and adds the user's name to the
-     *  list of users who have liked the post.
+     *  list of users who have liked the post (& records the like in the
+     *  imported change list).
      */
-    private void likePost(Post inPost, String inUser)
+    private void likePost(Post inPost, String inUser,
+                          DSALinkedList changeBuffer)
     {
         if (super.hasVertex(inUser))
         {
@@ -566,6 +924,11 @@ public class Network extends DSAGraph
 
             //Add user who liked post to list of users who have liked it
             inPost.usersLiked.insertLast(inUser);
+
+            if (changeBuffer != null) //If changes are being recorded
+            {
+                changeBuffer.insertLast("L:" + inPost.id + ":" + inUser);
+            }
         }
         else
         {
@@ -577,141 +940,604 @@ public class Network extends DSAGraph
     /* Runs a single timestep in the network, running the probabilities
      *  for sharing each post by each user currently seeing it & for following
      *  the original poster, taking the required actions if the probabilites are
-     *  hit.
+     *  hit. Posts are spread across multiple threads if the network's thread
+     *  count is greater than 1.
      */
     public void timeStep()
     {
-        Iterator postIter, toLikeIter;
         Post curPost;
-        String curUser;
-        DSALinkedList justSharedUsers; /*Linked list of users who post was
-            shared to in this timestep*/
+        long startNanos = (metrics == null) ? 0 : System.nanoTime();
 
         //Increasing timestep count
         curTime++;
 
-        postIter = posts.iterator();
-        while (postIter.hasNext()) //For each post in network
+        /*Refreshing frozen view of follower relationships (follows made during
+            this timestep go to its overlay & are merged in after the step)*/
+        super.freezeEdges();
+
+        if (threadCount > 1) //If posts should be processed in parallel
         {
-            curPost = (Post)postIter.next();
+            timeStepParallel();
+        }
+        else
+        {
+            for (int ii = 0; ii < activeCount; ii++) /*For each post that may
+                still be shared (stale posts were never made active or were
+                removed at the end of an earlier timestep)*/
+            {
+                curPost = activePosts[ii];
+
+                if (!curPost.stale) /*If current post can be shared any
+                    further*/
+                {
+                    //Spreading post & applying follows immediately
+                    propagatePost(curPost, null, changeLog);
+                }
+            }
+        }
 
-            if (!curPost.stale) //If current post can be shared any further
+        //Dropping posts that went stale this timestep from the active posts
+        compactActivePosts();
+
+        super.freezeEdges();
+
+        if (metrics != null) //If metrics are being recorded
+        {
+            metrics.stripe().timeStep(System.nanoTime() - startNanos);
+        }
+    }
+
+    /* Runs the post-spreading part of a timestep with each post processed as
+     *  a separate fork-join task. Since spreading a post only reads the
+     *  follower graph (& writes to the post itself), the only shared change
+     *  is following the OP, which is buffered per post & applied in post order
+     *  once all posts are done (so the final network does not depend on
+     *  thread scheduling). Unlike sequential mode, a follow made this timestep
+     *  does not affect who other posts are shared to until the next timestep.
+     */
+    private void timeStepParallel()
+    {
+        Post[] stepPosts;
+        DSALinkedList[] followBuffers; /*List of follows (as 2-element string
+            arrays of follower & followed) made by each active post*/
+        DSALinkedList[] changeBuffers; /*List of recorded changes made by each
+            active post (null if changes are not being recorded)*/
+        Iterator followIter;
+        String[] curFollow;
+        int stepCount;
+
+        //Getting array of all posts that can be shared further
+        compactActivePosts();
+        stepPosts = activePosts;
+        stepCount = activeCount;
+
+        followBuffers = new DSALinkedList[stepCount];
+        changeBuffers = new DSALinkedList[stepCount];
+        for (int ii = 0; ii < stepCount; ii++)
+        {
+            followBuffers[ii] = new DSALinkedList();
+            if (changeLog != null)
             {
-                toLikeIter = curPost.usersToLike.iterator();
+                changeBuffers[ii] = new DSALinkedList();
+            }
+        }
 
-                /*Creating linked list of users who have had this post shared
-                    with them on this timestep*/
-                justSharedUsers = new DSALinkedList();
+        //Spreading all active posts in parallel
+        getForkJoinPool().invoke(new PropagateTask(stepPosts, followBuffers,
+                changeBuffers, 0, stepCount));
 
-                //Determining if post still exists in network
-                boolean opExists = hasVertex(curPost.op);
+        /*Merging recorded changes & buffered follows into network (in post
+            order)*/
+        for (int ii = 0; ii < stepCount; ii++)
+        {
+            if (changeLog != null)
+            {
+                changeLog.append(changeBuffers[ii]);
+            }
+
+            followIter = followBuffers[ii].iterator();
+            while (followIter.hasNext())
+            {
+                curFollow = (String[])followIter.next();
 
-                while (toLikeIter.hasNext()) /*For each person who has a chance
-                    to like this post this timestep (do nothing if they have)*/
+                /*Only following if both users still exist & follow was not
+                    already made by an earlier post this timestep*/
+                if (hasVertex(curFollow[0]) && hasVertex(curFollow[1]) &&
+                        !hasFollower(curFollow[0], curFollow[1]))
                 {
-                    curUser = (String)toLikeIter.next();
+                    addFollower(curFollow[0], curFollow[1]);
+                    if (metrics != null)
+                    {
+                        metrics.stripe().follow();
+                    }
+                }
+            }
+        }
+    }
+
+    /* Spreads the imported post for one timestep (giving each user it was
+     *  shared with last timestep the chance to like & share it & follow the
+     *  OP). If the imported follow buffer is null follows are made directly,
+     *  otherwise they are added to the buffer (as follower-followed string
+     *  pairs) to be made later. Likes & the post becoming stale are recorded
+     *  in the imported change buffer (if not null).
+     */
+    private void propagatePost(Post curPost, DSALinkedList followBuffer,
+                               DSALinkedList changeBuffer)
+    {
+        DSAGraphVertex curVertex;
+        String curUser;
+        NetworkMetrics.Stripe stripe = (metrics == null) ? null :
+                metrics.stripe(); //Stripe of thread spreading post
+
+        //Determining if post still exists in network
+        boolean opExists = hasVertex(curPost.op);
+
+        for (int ii = 0; ii < curPost.toLikeCount; ii++) /*For each person who
+            has a chance to like this post this timestep (do nothing if they
+            have)*/
+        {
+            curVertex = super.getVertexById(curPost.usersToLike[ii]);
+
+            if (curVertex != null) /*If user has not been removed from
+                network since last timestep (ids are never reused)*/
+            {
+                curUser = curVertex.label;
 
-                    if (hasVertex(curUser)) /*If user has not been removed from
-                        network since last timestep*/
+                if (chance(curPost.random, likeChance * curPost.clickbait)) /*If
+                the chance to like the post is met (dependant on overall
+                like chance and the post's clickbait factor)*/
+                {
+                    //Make the current user like the post
+                    likePost(curPost, curUser, changeBuffer);
+                    if (stripe != null)
                     {
-                        if (chance(likeChance * curPost.clickbait)) /*If
-                        the chance to like the post is met (dependant on overall
-                        like chance and the post's clickbait factor)*/
-                        {
-                            //Make the current user like the post
-                            likePost(curPost, curUser);
+                        stripe.like();
+                    }
 
-                        /*Make the current user share the post (& add all users
-                            who received it to list of just shared users)*/
-                            sharePost(curPost, curUser, justSharedUsers);
+                /*Make the current user share the post (& add all users
+                    who received it to list of just shared users)*/
+                    sharePost(curPost, curVertex, stripe);
 
-                            if (chance(followChance) && opExists)
-                                /*If chance of following OP also met AND OP
-                                still exists (only occurs if post was also
-                                liked)*/
+                    if (chance(curPost.random, followChance) && opExists)
+                        /*If chance of following OP also met AND OP
+                        still exists (only occurs if post was also
+                        liked)*/
+                    {
+                        if (!hasFollower(curUser, curPost.op)) /*If user
+                        is not already following OP*/
+                        {
+                            if (followBuffer == null)
                             {
-                                if (!hasFollower(curUser, curPost.op)) /*If user
-                                is not already following OP*/
+                            /*Making current user follow post's original
+                                poster*/
+                                addFollower(curUser, curPost.op);
+                                if (stripe != null)
                                 {
-                                /*Making current user follow post's original
-                                    poster*/
-                                    addFollower(curUser, curPost.op);
+                                    stripe.follow();
                                 }
                             }
+                            else
+                            {
+                                //Saving follow to be made after timestep
+                                followBuffer.insertLast(
+                                        new String[] {curUser, curPost.op});
+                            }
                         }
                     }
                 }
-                if (!justSharedUsers.isEmpty()) /*If at least 1 user had the
-                    post shared to them this timestep (who will have a chance
-                    of liking/sharing it in the next timestep)*/
-                {
-                    /*Discarding users to like (as has been used) & setting it
-                        to all users who have a chance to like the post in the
-                        next timestep*/
-                    curPost.usersToLike = justSharedUsers;
-                }
-                else
-                {
-                    /*Marking post as stale (as there is are no users that
-                        may share it in the next timestep and therefore no
-                        chance of it being shared again)*/
-                    curPost.stale = true;
-                    curPost.usersToLike = null;
-                }
+            }
+        }
+        if (curPost.sharedCount > 0) /*If at least 1 user had the
+            post shared to them this timestep (who will have a chance
+            of liking/sharing it in the next timestep)*/
+        {
+            /*Discarding users to like (as has been used) & setting it
+                to all users who have a chance to like the post in the
+                next timestep*/
+            curPost.swapFrontier();
+        }
+        else
+        {
+            /*Marking post as stale (as there is are no users that
+                may share it in the next timestep and therefore no
+                chance of it being shared again)*/
+            curPost.makeStale();
+            if (stripe != null)
+            {
+                stripe.stale();
+            }
+
+            if (changeBuffer != null) //If changes are being recorded
+            {
+                changeBuffer.insertLast("X:" + curPost.id);
             }
         }
     }
 
-    /* Returns true if the imported user has already been shared the imported
-     *  post and false if not. Throws exception if user does not exist.
+    /* Adds the imported post to the list of posts, index of posts by id &
+     *  active posts (as new posts are never stale)
      */
-    private boolean seenPost(Post inPost, String inUser)
+    private void addPost(Post inPost)
     {
-        Iterator sharedUserIter;
-        String curUser;
-        boolean seen = false; /*Stores whether imported user has seen imported
-            post*/
+        Post[] newPostsById, newActivePosts;
 
-        if (super.hasVertex(inUser))
+        if (inPost.id >= postsById.length) //If post index is full
         {
-            sharedUserIter = inPost.usersSeen.iterator();
+            newPostsById = new Post[Math.max(inPost.id + 1,
+                    postsById.length * 2)];
+            System.arraycopy(postsById, 0, newPostsById, 0, postsById.length);
+            postsById = newPostsById;
+        }
 
-            while (sharedUserIter.hasNext() && !seen) /*For each user post has
-                been shared to & while it has not been determined imported user
-                has seen post*/
+        if (activeCount == activePosts.length) //If active posts are full
+        {
+            compactActivePosts();
+            if (activeCount * 2 > activePosts.length) /*If compacting did not
+                free at least half the space*/
             {
-                curUser = (String) sharedUserIter.next();
+                newActivePosts = new Post[activePosts.length * 2];
+                System.arraycopy(activePosts, 0, newActivePosts, 0,
+                        activeCount);
+                activePosts = newActivePosts;
+            }
+        }
 
-                if (curUser.equals(inUser)) //If user being searched for found
-                {
-                    seen = true;
-                }
+        posts.insertLast(inPost);
+        postsById[inPost.id] = inPost;
+        activePosts[activeCount] = inPost;
+        activeCount++;
+    }
+
+    /* Removes posts that have gone stale from the active posts, keeping the
+     *  remaining posts in the order they were made
+     */
+    private void compactActivePosts()
+    {
+        int keptCount = 0;
+
+        for (int ii = 0; ii < activeCount; ii++)
+        {
+            if (!activePosts[ii].stale)
+            {
+                activePosts[keptCount] = activePosts[ii];
+                keptCount++;
+            }
+        }
+
+        //Clearing references to removed posts
+        for (int ii = keptCount; ii < activeCount; ii++)
+        {
+            activePosts[ii] = null;
+        }
+
+        activeCount = keptCount;
+    }
+
+    /* Returns the post with the imported id, throws exception if there is no
+     *  such post
+     */
+    private Post getPost(int inId)
+    {
+        if (inId < 0 || inId >= posts.getCount())
+        {
+            throw new IllegalArgumentException("Post with id " + inId +
+                    " does not exist");
+        }
+
+        return postsById[inId];
+    }
+
+    /* Adds the imported change record to the imported change list (does
+     *  nothing if the list is null, i.e. changes are not being recorded)
+     */
+    private void recordChange(DSALinkedList changeBuffer, String change)
+    {
+        if (changeBuffer != null)
+        {
+            changeBuffer.insertLast(change);
+        }
+    }
+
+    /* Sorts the imported list descendingly, in parallel if the network uses
+     *  more than 1 thread (sort is stable, so order is the same either way)
+     */
+    private void sortDesc(DSALinkedList list)
+    {
+        if (threadCount > 1)
+        {
+            list.sortDesc(getForkJoinPool());
+        }
+        else
+        {
+            list.sortDesc();
+        }
+    }
+
+    /* Returns the fork-join pool used for parallel timesteps, sorting &
+     *  loading (creating it with the network's thread count if it does not
+     *  yet exist)
+     */
+    public ForkJoinPool getForkJoinPool()
+    {
+        if (pool == null || pool.getParallelism() != threadCount)
+        {
+            if (pool != null)
+            {
+                pool.shutdown();
             }
+            pool = new ForkJoinPool(threadCount);
         }
-        return seen;
+
+        return pool;
+    }
+
+    /* Returns true if the imported user has already been shared the imported
+     *  post and false if not.
+     */
+    private boolean seenPost(Post inPost, DSAGraphVertex inUser)
+    {
+        return inPost.usersSeen.get(inUser.id);
     }
 
     /* Returns whether every post currently in the network is stale (cannot be
-     *  shared any further) or not. Returns true if no posts in network.
+     *  shared any further) or not. Returns true if no posts in network. Only
+     *  posts that may still be shared are checked, so this does not depend
+     *  on the number of posts that have already gone stale.
      */
     public boolean allPostsStale()
     {
-        boolean allStale = true;
+        compactActivePosts();
 
-        Iterator postIter = posts.iterator();
+        return activeCount == 0;
+    }
+
+    /* Returns the number of posts in the network that may still be shared
+     */
+    public int getActivePostCount()
+    {
+        compactActivePosts();
+
+        return activeCount;
+    }
+
+    /* Sets whether changes made to the network (users added/removed, follows
+     *  made/removed, posts made, likes & posts becoming stale) are recorded so
+     *  they can be logged as they happen rather than as full snapshots
+     */
+    public void setRecordChanges(boolean record)
+    {
+        if (!record)
+        {
+            changeLog = null;
+        }
+        else if (changeLog == null) //If changes not already being recorded
+        {
+            changeLog = new DSALinkedList();
+        }
+    }
+
+    /* Sets whether metrics of what timesteps do are recorded (see
+     *  NetworkMetrics), clearing any recorded so far if disabled
+     */
+    public void setMetricsEnabled(boolean enabled)
+    {
+        if (!enabled)
+        {
+            metrics = null;
+        }
+        else if (metrics == null) //If metrics not already being recorded
+        {
+            metrics = new NetworkMetrics();
+        }
+    }
+
+    /* Returns metrics recorded so far, or null if metrics are not being
+     *  recorded
+     */
+    public NetworkMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    /* Returns list of change records made since changes were last taken (&
+     *  starts a new list), throws exception if changes are not being recorded.
+     *  Record formats (same order of names as in events files):
+     *      A:<user>    R:<user>    F:<follower>:<followed>
+     *      U:<follower>:<followed>    L:<post id>:<user>    X:<post id>
+     *      P:<post id>:<user>:<created time>:<clickbait>:<content>
+     *  (a like always also shares the post, so shares are not recorded
+     *  separately)
+     */
+    public DSALinkedList takeChanges()
+    {
+        DSALinkedList changes = changeLog;
+
+        if (changes == null)
+        {
+            throw new IllegalArgumentException("Changes are not being " +
+                    "recorded");
+        }
+
+        changeLog = new DSALinkedList();
+
+        return changes;
+    }
+
+    /* Returns list of records describing the full current state of the
+     *  network (as needed to display it), which can be restored using the
+     *  network's restore methods. Record formats:
+     *      V:<user>:<followers>:<following>:<posts>:<created time>
+     *      E:<follower>:<followed>    L:<post id>:<user>    X:<post id>
+     *      P:<post id>:<user>:<created time>:<clickbait>:<content>
+     */
+    public DSALinkedList getStateRecords()
+    {
+        DSALinkedList stateList = new DSALinkedList();
+        Iterator vertexIter, adjIter, postIter, likedIter;
+        DSAGraphVertex curVertex;
+        UserInfo curInfo;
         Post curPost;
 
-        while (postIter.hasNext() && allStale) /*For each post in network &
-            while not-stale post hasn't been found*/
+        //Adding users (in same order as network's user list)
+        vertexIter = super.vertices.iterator();
+        while (vertexIter.hasNext())
         {
-            curPost = (Post) postIter.next();
-            if (!curPost.stale) //If current post is not stale
+            curInfo = (UserInfo)((DSAGraphVertex)vertexIter.next()).value;
+            stateList.insertLast("V:" + curInfo.name + ":" +
+                    curInfo.followers + ":" + curInfo.following + ":" +
+                    curInfo.numPosts + ":" + curInfo.createdTime);
+        }
+
+        //Adding follower-followed relationships
+        vertexIter = super.vertices.iterator();
+        while (vertexIter.hasNext())
+        {
+            curVertex = (DSAGraphVertex)vertexIter.next();
+            adjIter = super.adjacentIterator(curVertex);
+            while (adjIter.hasNext())
+            {
+                stateList.insertLast("E:" +
+                        ((DSAGraphVertex)adjIter.next()).label + ":" +
+                        curVertex.label);
+            }
+        }
+
+        //Adding posts with the users who liked them
+        postIter = posts.iterator();
+        while (postIter.hasNext())
+        {
+            curPost = (Post)postIter.next();
+            stateList.insertLast("P:" + curPost.id + ":" + curPost.op + ":" +
+                    curPost.createdTime + ":" + curPost.clickbait + ":" +
+                    curPost.content);
+
+            likedIter = curPost.usersLiked.iterator();
+            while (likedIter.hasNext())
             {
-                allStale = false;
+                stateList.insertLast("L:" + curPost.id + ":" +
+                        likedIter.next());
             }
+
+            if (curPost.stale)
+            {
+                stateList.insertLast("X:" + curPost.id);
+            }
+        }
+
+        return stateList;
+    }
+
+    /* Sets the current timestep of the network (for restoring network from a
+     *  log), throws exception if imported time is negative
+     */
+    public void restoreTime(int inTime)
+    {
+        if (inTime < 0)
+        {
+            throw new IllegalArgumentException("Time cannot be negative");
+        }
+
+        curTime = inTime;
+    }
+
+    /* Adds user with imported information to network (for restoring network
+     *  from a log), throws exception if user already exists
+     */
+    public void restoreUser(String inName, int inFollowers, int inFollowing,
+                            int inNumPosts, int inCreatedTime)
+    {
+        UserInfo newUserInfo = new UserInfo(inName, inCreatedTime);
+
+        newUserInfo.followers = inFollowers;
+        newUserInfo.following = inFollowing;
+        newUserInfo.numPosts = inNumPosts;
+
+        try
+        {
+            super.addVertex(inName, newUserInfo);
+        }
+        catch (IllegalArgumentException i)
+        {
+            throw new IllegalArgumentException("User with name already in " +
+                    "network");
+        }
+    }
+
+    /* Sets the counters of the existing user with the imported name (for
+     *  restoring network from a snapshot), throws exception if user does not
+     *  exist
+     */
+    public void restoreUserCounters(String inName, int inFollowers,
+                                    int inFollowing, int inNumPosts,
+                                    int inCreatedTime)
+    {
+        DSAGraphVertex userVertex = super.findVertex(inName);
+        UserInfo userInfo;
+
+        if (userVertex == null)
+        {
+            throw new IllegalArgumentException("User does not exist in " +
+                    "network");
         }
 
-        return allStale;
+        userInfo = (UserInfo) userVertex.value;
+        userInfo.followers = inFollowers;
+        userInfo.following = inFollowing;
+        userInfo.numPosts = inNumPosts;
+        userInfo.createdTime = inCreatedTime;
+    }
+
+    /* Adds relationship where first imported user follows second (for
+     *  restoring network from a log, so users' follower counts are not
+     *  changed), throws exception if users don't exist or already related
+     */
+    public void restoreFollower(String inUser1, String inUser2)
+    {
+        super.addEdge(inUser2, inUser1);
+    }
+
+    /* Adds post with imported information to network (for restoring network
+     *  from a log, so OP does not need to still exist & post is not shared).
+     *  If post is new (i.e. was made at current time), OP's post count is
+     *  increased. Throws exception if post id is not next post id.
+     */
+    public void restorePost(int inId, String inOP, String inContent,
+                            double inClickbait, int inCreatedTime,
+                            boolean newPost)
+    {
+        if (inId != posts.getCount())
+        {
+            throw new IllegalArgumentException("Post id " + inId + " is " +
+                    "not next post id");
+        }
+
+        addPost(new Post(inId, inOP, inContent, inClickbait, inCreatedTime));
+
+        if (newPost && hasVertex(inOP))
+        {
+            ((UserInfo)super.getVertex(inOP).value).numPosts++;
+        }
+    }
+
+    /* Adds a like by the imported user to the post with the imported id (for
+     *  restoring network from a log, so user does not need to still exist)
+     */
+    public void restoreLike(int inId, String inUser)
+    {
+        Post likedPost = getPost(inId);
+
+        likedPost.likes++;
+        likedPost.usersLiked.insertLast(inUser);
+    }
+
+    /* Marks post with imported id as stale (for restoring network from a log)
+     */
+    public void restoreStale(int inId)
+    {
+        Post stalePost = getPost(inId);
+
+        stalePost.makeStale();
     }
 
     /*Sets the chance to like a post to the imported double if valid, throws
@@ -760,10 +1586,42 @@ public class Network extends DSAGraph
         return followChance;
     }
 
+    /* Sets the number of threads used to spread posts in each timestep if
+     *  valid (1 for sequential), throws exception otherwise
+     */
+    public void setThreadCount(int inThreadCount)
+    {
+        if (inThreadCount >= 1)
+        {
+            threadCount = inThreadCount;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Thread count must be at " +
+                    "least 1");
+        }
+    }
+
+    /* Gets the number of threads used to spread posts in each timestep
+     */
+    public int getThreadCount()
+    {
+        return threadCount;
+    }
+
+    /* Seeds the network's random number generator so that a simulation with
+     *  the same inputs & seed always gives the same result. Only affects posts
+     *  made after the seed is set.
+     */
+    public void setSeed(long inSeed)
+    {
+        random = new SplittableRandom(inSeed);
+    }
+
     /*Returns a boolean that has the imported chance (between 0.0 & 1.0) of
-     *  being true.
+     *  being true (using the imported random number generator).
      */
-    private boolean chance(double inChance)
+    private boolean chance(SplittableRandom inRandom, double inChance)
     {
         //Sanity check
         assert (inChance >= 0.0) : "Chance not >0";
@@ -772,6 +1630,6 @@ public class Network extends DSAGraph
             imported chance. If imported chance is bigger than 1 (should only
             occur due to clickbait multiplier) effective chance is still 100%
             as expression will simply always be true.*/
-        return (inChance >= Math.random());
+        return (inChance >= inRandom.nextDouble());
     }
 }
\ No newline at end of file
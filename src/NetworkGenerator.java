@@ -0,0 +1,545 @@
+/* Network Generator by Moritz Bergemann
+ * Generates synthetic network & events files (in the formats read by
+ *  NetworkManager) with scale-free (Chung-Lu style) follower relationships.
+ *  Each user follows a power-law distributed number of users (with the
+ *  configured mean), each chosen with probability proportional to a
+ *  power-law popularity weight, so a few users are followed by a large part
+ *  of the network. Every user's follows are generated from their own seeded
+ *  random number generator, so they can be regenerated at any time instead
+ *  of being kept in memory, & files are written line by line as they are
+ *  generated (so large networks, e.g. 10M users, can be generated).
+ * Usage: java NetworkGenerator <netfile> <eventfile> <users> <mean follows>
+ *  <events> [-x <exponent>] [-r <seed>] [-c <min>:<max>]
+ *  [-m <post>:<follow>:<unfollow>:<remove>:<add>]
+ * Created Date: 17/10/2026
+ */
+
+import java.util.*;
+
+public class NetworkGenerator
+{
+    //CONSTANTS
+    public static final String USER_PREFIX = "u"; /*Prefix of generated user
+        names (followed by user index)*/
+    public static final String POST_PREFIX = "post"; /*Prefix of generated post
+        contents (followed by post number)*/
+    public static final int MAX_ATTEMPTS = 64; /*Number of times a random
+        event is redrawn before a post is made instead*/
+    public static final int POST = 0, FOLLOW = 1, UNFOLLOW = 2, REMOVE = 3,
+            ADD = 4; //Indexes of event types in event rates
+
+    //CLASS FIELDS
+    private int userCount; //Number of users in generated network file
+    private double meanFollows; //Mean number of users each user follows
+    private double exponent; /*Exponent of power-law degree distribution
+        (greater than 2)*/
+    private long seed;
+    private double[] eventRates; /*Relative rates of each event type (indexed
+        by event type constants)*/
+    private double clickbaitMin; //Smallest clickbait factor given to posts
+    private double clickbaitMax; //Largest clickbait factor given to posts
+
+    //Event generation state
+    private DSABitSet removedUsers; //Indexes of users removed by events
+    private int removedCount;
+    private int addedCount; //Number of users added by events
+    private DSAHashTable changedFollows; /*Whether each follower-followed pair
+        ("follower:followed" indexes) changed by events is now following*/
+    private SplittableRandom eventRandom; //Generator for choosing events
+
+    //CONSTRUCTORS
+    /* Alternate Constructor (takes number of users & mean number of users
+     *  each user follows). Exponent defaults to 2.5, seed to 0, events to
+     *  only posts & clickbait to 1.0.
+     */
+    public NetworkGenerator(int inUserCount, double inMeanFollows)
+    {
+        if (inUserCount < 2)
+        {
+            throw new IllegalArgumentException("Network must have at least " +
+                    "2 users");
+        }
+        else if (inMeanFollows < 0.0 || inMeanFollows > inUserCount - 1)
+        {
+            throw new IllegalArgumentException("Mean follows must be between " +
+                    "0 & number of users - 1");
+        }
+
+        userCount = inUserCount;
+        meanFollows = inMeanFollows;
+        exponent = 2.5;
+        seed = 0;
+        eventRates = new double[] {1.0, 0.0, 0.0, 0.0, 0.0};
+        clickbaitMin = 1.0;
+        clickbaitMax = 1.0;
+    }
+
+    //MUTATORS
+    /* Sets exponent of power-law degree distribution if greater than 2,
+     *  throws exception otherwise (smaller exponents give heavier hubs)
+     */
+    public void setExponent(double inExponent)
+    {
+        if (!(inExponent > 2.0))
+        {
+            throw new IllegalArgumentException("Exponent must be greater " +
+                    "than 2");
+        }
+
+        exponent = inExponent;
+    }
+
+    public void setSeed(long inSeed)
+    {
+        seed = inSeed;
+    }
+
+    /* Sets relative rates of post, follow, unfollow, remove user & add user
+     *  events if none negative & at least 1 positive, throws exception
+     *  otherwise
+     */
+    public void setEventRates(double postRate, double followRate,
+                              double unfollowRate, double removeRate,
+                              double addRate)
+    {
+        double[] newRates = {postRate, followRate, unfollowRate, removeRate,
+                addRate};
+        double total = 0.0;
+
+        for (int ii = 0; ii < newRates.length; ii++)
+        {
+            if (!(newRates[ii] >= 0.0))
+            {
+                throw new IllegalArgumentException("Event rates cannot be " +
+                        "negative");
+            }
+            total += newRates[ii];
+        }
+
+        if (total == 0.0)
+        {
+            throw new IllegalArgumentException("At least 1 event rate must " +
+                    "be above 0");
+        }
+
+        eventRates = newRates;
+    }
+
+    /* Sets range posts' clickbait factors are uniformly chosen from if valid,
+     *  throws exception otherwise (posts are written without a clickbait
+     *  factor if both are 1.0)
+     */
+    public void setClickbait(double inMin, double inMax)
+    {
+        if (!(inMin >= 0.0) || !(inMax >= inMin))
+        {
+            throw new IllegalArgumentException("Clickbait range must be " +
+                    "non-negative with minimum no greater than maximum");
+        }
+
+        clickbaitMin = inMin;
+        clickbaitMax = inMax;
+    }
+
+    //ACCESSORS
+    /* Writes the generated network file (all user names, then each
+     *  "followed:follower" relationship) to the imported writer
+     */
+    public void writeNetwork(LogWriter writer)
+    {
+        int[] follows;
+
+        for (int ii = 0; ii < userCount; ii++)
+        {
+            writer.writeLine(userName(ii));
+        }
+
+        for (int ii = 0; ii < userCount; ii++)
+        {
+            follows = initialFollows(ii);
+            for (int jj = 0; jj < follows.length; jj++)
+            {
+                writer.writeLine(userName(follows[jj]) + ":" + userName(ii));
+            }
+        }
+    }
+
+    /* Writes the imported number of generated events (each valid when
+     *  applied in order to the generated network) to the imported writer
+     */
+    public void writeEvents(LogWriter writer, int eventCount)
+    {
+        String event;
+        int postCount = 0;
+
+        if (eventCount < 0)
+        {
+            throw new IllegalArgumentException("Event count cannot be " +
+                    "negative");
+        }
+
+        removedUsers = new DSABitSet(userCount);
+        removedCount = 0;
+        addedCount = 0;
+        changedFollows = new DSAHashTable();
+        eventRandom = new SplittableRandom(seed).split();
+
+        for (int ii = 0; ii < eventCount; ii++)
+        {
+            event = null;
+            for (int jj = 0; jj < MAX_ATTEMPTS && event == null; jj++)
+            {
+                event = tryEvent(chooseEventType());
+            }
+
+            if (event == null) //If no valid event found, making post
+            {
+                event = tryEvent(POST);
+            }
+
+            if (event.charAt(0) == 'P')
+            {
+                event = event + POST_PREFIX + postCount + clickbait();
+                postCount++;
+            }
+
+            writer.writeLine(event);
+        }
+    }
+
+    /* Returns the sorted indexes of the users the user with the imported
+     *  index follows in the generated network file (the same every time for
+     *  the same settings)
+     */
+    public int[] initialFollows(int user)
+    {
+        SplittableRandom random = new SplittableRandom(userSeed(user));
+        int[] follows;
+        int count, unique = 0;
+
+        //Choosing number of follows from power-law with configured mean
+        count = (int)Math.min(userCount - 1, Math.round(meanFollows *
+                (exponent - 2.0) / (exponent - 1.0) *
+                Math.pow(1.0 - random.nextDouble(), -1.0 / (exponent - 1.0))));
+
+        follows = new int[count];
+        for (int ii = 0; ii < count; ii++)
+        {
+            follows[ii] = popularUser(random);
+        }
+
+        //Dropping duplicates & self-follows (so user may follow fewer)
+        Arrays.sort(follows);
+        for (int ii = 0; ii < count; ii++)
+        {
+            if (follows[ii] != user && (unique == 0 ||
+                    follows[ii] != follows[unique - 1]))
+            {
+                follows[unique] = follows[ii];
+                unique++;
+            }
+        }
+
+        return Arrays.copyOf(follows, unique);
+    }
+
+    /* Returns name of user with imported index
+     */
+    public static String userName(int user)
+    {
+        return USER_PREFIX + user;
+    }
+
+    //PRIVATE METHODS
+    /* Returns the event (as an events file line) of the imported type, or null
+     *  if a valid event of that type could not be made from a random choice.
+     *  Post lines are returned without their content & clickbait factor.
+     */
+    private String tryEvent(int type)
+    {
+        String event = null;
+        int user1, user2;
+        int[] follows;
+
+        switch (type)
+        {
+            case FOLLOW:
+                user1 = randomUser();
+                user2 = popularLiveUser();
+                if (user1 != user2 && !isFollowing(user1, user2))
+                {
+                    setFollowing(user1, user2, true);
+                    event = "F:" + userName(user2) + ":" + userName(user1);
+                }
+                break;
+            case UNFOLLOW:
+                user1 = randomUser();
+                follows = (user1 < userCount) ? initialFollows(user1) :
+                        new int[0];
+                if (follows.length > 0)
+                {
+                    user2 = follows[eventRandom.nextInt(follows.length)];
+                    if (isFollowing(user1, user2))
+                    {
+                        setFollowing(user1, user2, false);
+                        event = "U:" + userName(user2) + ":" +
+                                userName(user1);
+                    }
+                }
+                break;
+            case REMOVE:
+                if (removedCount < (userCount + addedCount) / 2) /*Keeping at
+                    least half of users so random users are quick to find*/
+                {
+                    user1 = randomUser();
+                    removedUsers.set(user1);
+                    removedCount++;
+                    event = "R:" + userName(user1);
+                }
+                break;
+            case ADD:
+                event = "A:" + userName(userCount + addedCount);
+                addedCount++;
+                break;
+            default: //Posts are made by users chosen by popularity
+                event = "P:" + userName(popularLiveUser()) + ":";
+        }
+
+        return event;
+    }
+
+    /* Returns a random event type (chosen by event rates)
+     */
+    private int chooseEventType()
+    {
+        double total = 0.0, choice;
+        int type = 0;
+
+        for (int ii = 0; ii < eventRates.length; ii++)
+        {
+            total += eventRates[ii];
+        }
+
+        choice = eventRandom.nextDouble() * total;
+        while (type < eventRates.length - 1 && choice >= eventRates[type])
+        {
+            choice -= eventRates[type];
+            type++;
+        }
+
+        //Skipping over types with no rate (rounding may land on them)
+        while (eventRates[type] == 0.0)
+        {
+            type = (type + 1) % eventRates.length;
+        }
+
+        return type;
+    }
+
+    /* Records whether user with first imported index now follows user with
+     *  second (replacing any earlier change to the pair)
+     */
+    private void setFollowing(int follower, int followed, boolean following)
+    {
+        String pair = follower + ":" + followed;
+
+        if (changedFollows.has(pair))
+        {
+            changedFollows.remove(pair);
+        }
+        changedFollows.put(pair, Boolean.valueOf(following));
+    }
+
+    /* Returns whether user with first imported index currently follows user
+     *  with second (after events so far)
+     */
+    private boolean isFollowing(int follower, int followed)
+    {
+        boolean following;
+        Object changed = changedFollows.get(follower + ":" + followed);
+
+        if (removedUsers.get(follower) || removedUsers.get(followed))
+        {
+            following = false;
+        }
+        else if (changed != null) //If follow was made/removed by an event
+        {
+            following = ((Boolean)changed).booleanValue();
+        }
+        else
+        {
+            following = follower < userCount && Arrays.binarySearch(
+                    initialFollows(follower), followed) >= 0;
+        }
+
+        return following;
+    }
+
+    /* Returns a uniformly random user not removed by events
+     */
+    private int randomUser()
+    {
+        int user;
+
+        do //At most half of users are removed
+        {
+            user = eventRandom.nextInt(userCount + addedCount);
+        }
+        while (removedUsers.get(user));
+
+        return user;
+    }
+
+    /* Returns a user not removed by events chosen by popularity (or a random
+     *  user if popular users keep being removed ones)
+     */
+    private int popularLiveUser()
+    {
+        int user = popularUser(eventRandom);
+
+        for (int ii = 0; ii < MAX_ATTEMPTS && removedUsers.get(user); ii++)
+        {
+            user = popularUser(eventRandom);
+        }
+
+        if (removedUsers.get(user))
+        {
+            user = randomUser();
+        }
+
+        return user;
+    }
+
+    /* Returns index of a network file user chosen with probability
+     *  proportional to its popularity weight (index + 1)^(-1/(exponent - 1)),
+     *  by inverting the continuous power-law distribution over the indexes
+     */
+    private int popularUser(SplittableRandom random)
+    {
+        double power = 1.0 - 1.0 / (exponent - 1.0);
+        double range = Math.pow(userCount + 1.0, power) - 1.0;
+
+        return Math.min(userCount - 1, (int)Math.pow(1.0 +
+                random.nextDouble() * range, 1.0 / power) - 1);
+    }
+
+    /* Returns the seed of the random number generator for the follows of the
+     *  user with the imported index
+     */
+    private long userSeed(int user)
+    {
+        return new SplittableRandom(seed + user).nextLong();
+    }
+
+    /* Returns the clickbait factor section of a post line (empty if posts
+     *  have no clickbait factor)
+     */
+    private String clickbait()
+    {
+        String section = "";
+
+        if (clickbaitMin != 1.0 || clickbaitMax != 1.0)
+        {
+            section = ":" + (clickbaitMin + eventRandom.nextDouble() *
+                    (clickbaitMax - clickbaitMin));
+        }
+
+        return section;
+    }
+
+    /* Generates network & events files from command line arguments (see
+     *  usage above)
+     */
+    public static void main(String[] args)
+    {
+        NetworkGenerator generator;
+        LogWriter writer;
+        String[] split;
+
+        try
+        {
+            if (args.length < 5 || args.length % 2 == 0)
+            {
+                throw new IllegalArgumentException("Invalid number of " +
+                        "arguments");
+            }
+
+            generator = new NetworkGenerator(Integer.parseInt(args[2]),
+                    Double.parseDouble(args[3]));
+            for (int ii = 5; ii < args.length; ii += 2)
+            {
+                if (args[ii].equals("-x"))
+                {
+                    generator.setExponent(Double.parseDouble(args[ii + 1]));
+                }
+                else if (args[ii].equals("-r"))
+                {
+                    generator.setSeed(Long.parseLong(args[ii + 1]));
+                }
+                else if (args[ii].equals("-c"))
+                {
+                    split = args[ii + 1].split(":");
+                    if (split.length != 2)
+                    {
+                        throw new IllegalArgumentException("Clickbait range " +
+                                "must be <min>:<max>");
+                    }
+                    generator.setClickbait(Double.parseDouble(split[0]),
+                            Double.parseDouble(split[1]));
+                }
+                else if (args[ii].equals("-m"))
+                {
+                    split = args[ii + 1].split(":");
+                    if (split.length != 5)
+                    {
+                        throw new IllegalArgumentException("Event rates must " +
+                                "be <post>:<follow>:<unfollow>:<remove>:<add>");
+                    }
+                    generator.setEventRates(Double.parseDouble(split[0]),
+                            Double.parseDouble(split[1]),
+                            Double.parseDouble(split[2]),
+                            Double.parseDouble(split[3]),
+                            Double.parseDouble(split[4]));
+                }
+                else
+                {
+                    throw new IllegalArgumentException("Unknown option " +
+                            args[ii]);
+                }
+            }
+
+            writer = new LogWriter(args[0], false, 0);
+            try
+            {
+                generator.writeNetwork(writer);
+            }
+            finally
+            {
+                writer.close();
+            }
+
+            writer = new LogWriter(args[1], false, 0);
+            try
+            {
+                generator.writeEvents(writer, Integer.parseInt(args[4]));
+            }
+            finally
+            {
+                writer.close();
+            }
+        }
+        catch (NumberFormatException n)
+        {
+            System.out.println("Error: users, follows, events & option " +
+                    "values must be numbers");
+        }
+        catch (IllegalArgumentException i)
+        {
+            System.out.println("Error: " + i.getMessage());
+            System.out.println("Usage: java NetworkGenerator <netfile> " +
+                    "<eventfile> <users> <mean follows> <events> [-x " +
+                    "<exponent>] [-r <seed>] [-c <min>:<max>] [-m " +
+                    "<post>:<follow>:<unfollow>:<remove>:<add>]");
+        }
+    }
+}
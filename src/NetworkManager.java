@@ -1,4 +1,7 @@
+import java.io.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /* Network by Moritz Bergemann
  * Static class containing methods for manipulating a network that are not
@@ -7,6 +10,225 @@ import java.util.*;
  */
 public class NetworkManager
 {
+    //CONSTANTS
+    public static final int CHECKPOINT_INTERVAL = 10; /*Number of timesteps
+        between full checkpoints in delta logs*/
+    public static final int SHARDS_PER_THREAD = 4; /*Number of parts network
+        files are split into per thread when loaded in parallel (more parts
+        than threads so threads finishing early can take over remaining work)*/
+    public static final int SNAPSHOT_MAGIC = 0x53534E53; /*First 4 bytes of
+        binary network snapshot files ("SSNS")*/
+    public static final int SNAPSHOT_VERSION = 1; //Current snapshot version
+    public static final int SNAPSHOT_COUNTERS = 4; /*Number of counters saved
+        per user (followers, following, posts & created time)*/
+    public static final int SNAPSHOT_BUFFER_SIZE = 64 * 1024; /*Size of buffer
+        used when reading/writing snapshot files*/
+
+    //PRIVATE INNER CLASSES
+    /* Lines parsed from one byte range (shard) of a network file by one
+     *  thread. Parsing stops at the first invalid line, as any later lines
+     *  cannot affect which error is reported.
+     */
+    private static class NetworkShard
+    {
+        private MappedLineReader reader; //Reader for lines in shard
+        private String[][] lines; /*Names defined by each line parsed (see
+            parseNetworkLine), in order*/
+        private int lineCount; //Number of lines parsed (& in lines array)
+        private String formatError; /*Description of invalid line ending shard
+            (null if every line in shard valid)*/
+
+        private NetworkShard(MappedLineReader inReader)
+        {
+            reader = inReader;
+            lines = new String[16][];
+            lineCount = 0;
+            formatError = null;
+        }
+    }
+
+    /* Follower relationships (from network file lines) whose followed user
+     *  falls in the same bucket, in the order they appear in the file. Each
+     *  bucket is added to the network by a single thread.
+     */
+    private static class RelationshipBucket
+    {
+        private int[] lineNums; //Line number of each relationship
+        private String[][] names; //Followed & follower names of each
+        private int count; //Number of relationships in bucket
+        private int errorLine; /*Line of first relationship that failed to add
+            (0 if none)*/
+        private String error; //Description of that failure
+
+        private RelationshipBucket()
+        {
+            lineNums = new int[16];
+            names = new String[16][];
+            count = 0;
+            errorLine = 0;
+            error = null;
+        }
+
+        private void add(int lineNum, String[] inNames)
+        {
+            if (count == lineNums.length) //If arrays full
+            {
+                lineNums = Arrays.copyOf(lineNums, count * 2);
+                names = Arrays.copyOf(names, count * 2);
+            }
+
+            lineNums[count] = lineNum;
+            names[count] = inNames;
+            count++;
+        }
+    }
+
+    /* Task parsing a range of network file shards, splitting the range in half
+     *  between subtasks until a single shard is left
+     */
+    private static class ParseShardsTask extends RecursiveAction
+    {
+        private NetworkShard[] shards;
+        private int start, end; //Range of shards to parse (end exclusive)
+
+        private ParseShardsTask(NetworkShard[] inShards, int inStart, int inEnd)
+        {
+            shards = inShards;
+            start = inStart;
+            end = inEnd;
+        }
+
+        protected void compute()
+        {
+            int mid;
+            NetworkShard shard;
+
+            if (end - start > 1) //If more than one shard to parse
+            {
+                mid = (start + end) / 2;
+                invokeAll(new ParseShardsTask(shards, start, mid),
+                        new ParseShardsTask(shards, mid, end));
+            }
+            else if (end > start)
+            {
+                shard = shards[start];
+                while (shard.formatError == null && shard.reader.nextLine())
+                {
+                    if (shard.lineCount == shard.lines.length)
+                    {
+                        shard.lines = Arrays.copyOf(shard.lines,
+                                shard.lineCount * 2);
+                    }
+
+                    try
+                    {
+                        shard.lines[shard.lineCount] =
+                                parseNetworkLine(shard.reader);
+                        shard.lineCount++;
+                    }
+                    catch (IllegalArgumentException i) //If line invalid
+                    {
+                        shard.formatError = i.getMessage();
+                    }
+                }
+            }
+        }
+    }
+
+    /* Task adding the relationships of a range of buckets to a network,
+     *  splitting the range in half between subtasks until a single bucket is
+     *  left
+     */
+    private static class AddRelationshipsTask extends RecursiveAction
+    {
+        private Network network;
+        private DSAHashTable userLines; //Line each user was defined on
+        private RelationshipBucket[] buckets;
+        private int start, end; //Range of buckets to add (end exclusive)
+
+        private AddRelationshipsTask(Network inNetwork, DSAHashTable inUserLines,
+                                     RelationshipBucket[] inBuckets,
+                                     int inStart, int inEnd)
+        {
+            network = inNetwork;
+            userLines = inUserLines;
+            buckets = inBuckets;
+            start = inStart;
+            end = inEnd;
+        }
+
+        protected void compute()
+        {
+            int mid;
+
+            if (end - start > 1) //If more than one bucket to add
+            {
+                mid = (start + end) / 2;
+                invokeAll(new AddRelationshipsTask(network, userLines, buckets,
+                                start, mid),
+                        new AddRelationshipsTask(network, userLines, buckets,
+                                mid, end));
+            }
+            else if (end > start)
+            {
+                addBucket(buckets[start]);
+            }
+        }
+
+        /* Adds relationships in imported bucket to network in order, stopping
+         *  at the first that fails (recording the failure in the bucket)
+         */
+        private void addBucket(RelationshipBucket bucket)
+        {
+            String followed, follower;
+            int lineNum;
+
+            for (int ii = 0; ii < bucket.count && bucket.error == null; ii++)
+            {
+                lineNum = bucket.lineNums[ii];
+                followed = bucket.names[ii][0];
+                follower = bucket.names[ii][1];
+
+                /*Checking users were defined before relationship (in the
+                    same order addFollower checks that they exist)*/
+                if (!definedBefore(follower, lineNum))
+                {
+                    bucket.error = "User '" + follower + "' not in network";
+                }
+                else if (!definedBefore(followed, lineNum))
+                {
+                    bucket.error = "User '" + followed + "' not in network";
+                }
+                else
+                {
+                    try
+                    {
+                        network.addFollowerShared(follower, followed);
+                    }
+                    catch (IllegalArgumentException i)
+                    {
+                        bucket.error = i.getMessage();
+                    }
+                }
+
+                if (bucket.error != null)
+                {
+                    bucket.errorLine = lineNum;
+                }
+            }
+        }
+
+        /* Returns whether user with imported name was defined on a line before
+         *  the imported line
+         */
+        private boolean definedBefore(String name, int lineNum)
+        {
+            Object userLine = userLines.get(name);
+
+            return userLine != null && (Integer) userLine < lineNum;
+        }
+    }
+
     /* Creates and returns a new network based on the imported list of
      *  information strings. Throws an exception if any of the imported strings
      *  are invalid.
@@ -105,6 +327,197 @@ public class NetworkManager
         return newNetwork;
     }
 
+    /* Creates and returns a new network from the network file with the
+     *  imported name, reading it line by line through a memory-mapped reader
+     *  so that the lines of the file are never all held in memory (& only
+     *  user names are turned into strings). Validation & errors are the same
+     *  as loadNetwork.
+     */
+    public static Network loadNetworkFile(String filename)
+    {
+        Network newNetwork = new Network();
+        MappedLineReader reader = FileManager.openMappedFile(filename);
+        String[] names;
+
+        try
+        {
+            while (reader.nextLine())
+            {
+                try
+                {
+                    names = parseNetworkLine(reader);
+                }
+                catch (IllegalArgumentException i) //If line format invalid
+                {
+                    throw new IllegalArgumentException("Invalid Format " +
+                            "(line " + reader.getLineNum() + "): " +
+                            i.getMessage());
+                }
+
+                try
+                {
+                    if (names.length == 1) //If line defines user to be added
+                    {
+                        newNetwork.addUser(names[0]);
+                    }
+                    else //If line defines follower relationship
+                    {
+                        newNetwork.addFollower(names[1], names[0]);
+                    }
+                }
+                catch (IllegalArgumentException i) /*If user/relationship
+                    failed to add as network rule was broken*/
+                {
+                    throw new IllegalArgumentException("Logical Error " +
+                            "(line " + reader.getLineNum() + "): " +
+                            i.getMessage());
+                }
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+
+        return newNetwork;
+    }
+
+    /* Creates and returns a new network from the network file with the
+     *  imported name using the imported number of threads. The file is split
+     *  into byte ranges on line boundaries which are parsed in parallel, then
+     *  all users are added (in file order) followed by all relationships,
+     *  which are added in parallel in buckets by followed user. Validation &
+     *  errors are the same as loadNetwork (the error for the first invalid
+     *  line in the file is thrown). Loading uses the new network's own thread
+     *  pool (with its thread count set to the imported count), so the worker
+     *  threads stay alive for its timesteps.
+     */
+    public static Network loadNetworkParallel(String filename, int threadCount)
+    {
+        Network newNetwork = new Network();
+        ForkJoinPool loadPool;
+        boolean loaded = false; //Whether network loaded without errors
+        NetworkShard[] shards;
+        RelationshipBucket[] buckets;
+        DSAHashTable userLines;
+        long fileSize;
+        int lineNum, errorLine, bucketNum;
+        String error;
+        String[] curLine;
+
+        if (threadCount < 1)
+        {
+            throw new IllegalArgumentException("Thread count must be at " +
+                    "least 1");
+        }
+
+        //Splitting file into shards (each reader only reads lines in range)
+        shards = new NetworkShard[threadCount * SHARDS_PER_THREAD];
+        fileSize = new File(filename).length();
+        newNetwork.setThreadCount(threadCount);
+        loadPool = newNetwork.getForkJoinPool();
+        try
+        {
+            for (int ii = 0; ii < shards.length; ii++)
+            {
+                shards[ii] = new NetworkShard(new MappedLineReader(filename,
+                        fileSize * ii / shards.length,
+                        fileSize * (ii + 1) / shards.length));
+            }
+
+            //Phase 1: Parsing lines of all shards in parallel
+            loadPool.invoke(new ParseShardsTask(shards, 0, shards.length));
+
+            /*Phase 2: Adding users in file order (up to first invalid line) &
+                sorting relationships into buckets by followed user*/
+            userLines = new DSAHashTable();
+            buckets = new RelationshipBucket[threadCount * SHARDS_PER_THREAD];
+            for (int ii = 0; ii < buckets.length; ii++)
+            {
+                buckets[ii] = new RelationshipBucket();
+            }
+
+            lineNum = 0;
+            errorLine = 0;
+            error = null;
+            for (int ii = 0; ii < shards.length && error == null; ii++)
+            {
+                for (int jj = 0; jj < shards[ii].lineCount && error == null;
+                     jj++)
+                {
+                    lineNum++;
+                    curLine = shards[ii].lines[jj];
+
+                    if (curLine.length == 1) //If line defines user
+                    {
+                        try
+                        {
+                            newNetwork.addUser(curLine[0]);
+                            userLines.put(curLine[0], lineNum);
+                        }
+                        catch (IllegalArgumentException i)
+                        {
+                            errorLine = lineNum;
+                            error = "Logical Error (line " + lineNum + "): " +
+                                    i.getMessage();
+                        }
+                    }
+                    else
+                    {
+                        bucketNum = (curLine[0].hashCode() & 0x7FFFFFFF) %
+                                buckets.length;
+                        buckets[bucketNum].add(lineNum, curLine);
+                    }
+                }
+
+                if (error == null && shards[ii].formatError != null)
+                {
+                    errorLine = lineNum + 1;
+                    error = "Invalid Format (line " + errorLine + "): " +
+                            shards[ii].formatError;
+                }
+            }
+
+            //Phase 3: Adding relationships, each bucket by a single thread
+            loadPool.invoke(new AddRelationshipsTask(newNetwork, userLines,
+                    buckets, 0, buckets.length));
+            newNetwork.recountFollowing();
+
+            //Throwing error of first invalid line (if any)
+            for (int ii = 0; ii < buckets.length; ii++)
+            {
+                if (buckets[ii].error != null && (error == null ||
+                        buckets[ii].errorLine < errorLine))
+                {
+                    errorLine = buckets[ii].errorLine;
+                    error = "Logical Error (line " + errorLine + "): " +
+                            buckets[ii].error;
+                }
+            }
+            if (error != null)
+            {
+                throw new IllegalArgumentException(error);
+            }
+            loaded = true;
+        }
+        finally
+        {
+            if (!loaded) //If network is not returned, its pool is not needed
+            {
+                loadPool.shutdown();
+            }
+            for (int ii = 0; ii < shards.length; ii++)
+            {
+                if (shards[ii] != null)
+                {
+                    shards[ii].reader.close();
+                }
+            }
+        }
+
+        return newNetwork;
+    }
+
     /* Returns a linked list containing the user/relationship information of
      *  the imported network in the network file format, each line being
      *  an element in the list.
@@ -144,6 +557,186 @@ public class NetworkManager
         return networkList;
     }
 
+    /* Saves the users, follower relationships & user counters of the imported
+     *  network to a binary snapshot file with the imported name. Format (all
+     *  integers as unsigned varints):
+     *      magic (4 bytes), version, current time, user count
+     *      per user: name (modified UTF-8), followers, following, number of
+     *          posts, created time
+     *      edge count, per edge: follower index, followed index
+     *  where indices refer to the position of users in the file (the string
+     *  table). Throws exception if the file cannot be written.
+     */
+    public static void saveSnapshot(Network network, String filename)
+    {
+        DataOutputStream dataOut = null;
+        DSALinkedList userList = network.getUserList();
+        DSAHashTable userIndex = new DSAHashTable(userList.getCount());
+        Iterator userIter, followerIter;
+        String curUser;
+        int[] counters;
+        int curIndex;
+
+        try
+        {
+            dataOut = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(filename), SNAPSHOT_BUFFER_SIZE));
+
+            dataOut.writeInt(SNAPSHOT_MAGIC);
+            writeVarInt(dataOut, SNAPSHOT_VERSION);
+            writeVarInt(dataOut, network.getCurTime());
+
+            //Writing string table of users (with counters)
+            writeVarInt(dataOut, userList.getCount());
+            userIter = userList.iterator();
+            curIndex = 0;
+            while (userIter.hasNext())
+            {
+                curUser = (String) userIter.next();
+                userIndex.put(curUser, curIndex);
+                curIndex++;
+
+                counters = network.getUserCounters(curUser);
+                dataOut.writeUTF(curUser);
+                for (int ii = 0; ii < counters.length; ii++)
+                {
+                    writeVarInt(dataOut, counters[ii]);
+                }
+            }
+
+            //Writing follower relationships as index pairs
+            writeVarInt(dataOut, network.getEdgeCount());
+            userIter = userList.iterator();
+            curIndex = 0;
+            while (userIter.hasNext())
+            {
+                followerIter = network.getFollowers(
+                        (String) userIter.next()).iterator();
+                while (followerIter.hasNext())
+                {
+                    writeVarInt(dataOut, (Integer) userIndex.get(
+                            (String) followerIter.next()));
+                    writeVarInt(dataOut, curIndex);
+                }
+                curIndex++;
+            }
+
+            dataOut.close();
+        }
+        catch (IOException io)
+        {
+            if (dataOut != null)
+            {
+                try { dataOut.close(); } catch (IOException io2) { }
+            }
+            throw new IllegalArgumentException("Failed to write to file: " +
+                    io.getMessage());
+        }
+    }
+
+    /* Creates & returns a new network from the binary snapshot file with the
+     *  imported name (see saveSnapshot for format). Throws exception if the
+     *  file cannot be read or is not a valid snapshot.
+     */
+    public static Network loadSnapshot(String filename)
+    {
+        Network newNetwork;
+        DataInputStream dataIn = null;
+        String[] userNames;
+        int[] counters, followerIds, followedIds;
+        int time, userCount, edgeCount;
+
+        try
+        {
+            dataIn = new DataInputStream(new BufferedInputStream(
+                    new FileInputStream(filename), SNAPSHOT_BUFFER_SIZE));
+
+            if (dataIn.readInt() != SNAPSHOT_MAGIC)
+            {
+                throw new IllegalArgumentException("Invalid Snapshot: File " +
+                        "is not a network snapshot");
+            }
+            if (readVarInt(dataIn) != SNAPSHOT_VERSION)
+            {
+                throw new IllegalArgumentException("Invalid Snapshot: " +
+                        "Unsupported snapshot version");
+            }
+            time = readVarInt(dataIn);
+
+            //Reading string table of users (with counters)
+            userCount = readVarInt(dataIn);
+            userNames = new String[userCount];
+            counters = new int[userCount * SNAPSHOT_COUNTERS];
+            for (int ii = 0; ii < userCount; ii++)
+            {
+                userNames[ii] = dataIn.readUTF();
+                for (int jj = 0; jj < SNAPSHOT_COUNTERS; jj++)
+                {
+                    counters[ii * SNAPSHOT_COUNTERS + jj] = readVarInt(dataIn);
+                }
+            }
+
+            //Reading follower relationships
+            edgeCount = readVarInt(dataIn);
+            if ((long) edgeCount > (long) userCount * userCount)
+            {
+                throw new IllegalArgumentException("Invalid Snapshot: More " +
+                        "relationships than possible between users");
+            }
+            followerIds = new int[edgeCount];
+            followedIds = new int[edgeCount];
+            for (int ii = 0; ii < edgeCount; ii++)
+            {
+                followerIds[ii] = readVarInt(dataIn);
+                followedIds[ii] = readVarInt(dataIn);
+            }
+
+            //Building network in bulk, then restoring exact saved counters
+            try
+            {
+                newNetwork = new Network(userNames, followedIds, followerIds);
+            }
+            catch (IllegalArgumentException i)
+            {
+                throw new IllegalArgumentException("Invalid Snapshot: " +
+                        i.getMessage());
+            }
+            newNetwork.restoreTime(time);
+            for (int ii = 0; ii < userCount; ii++)
+            {
+                newNetwork.restoreUserCounters(userNames[ii],
+                        counters[ii * SNAPSHOT_COUNTERS],
+                        counters[ii * SNAPSHOT_COUNTERS + 1],
+                        counters[ii * SNAPSHOT_COUNTERS + 2],
+                        counters[ii * SNAPSHOT_COUNTERS + 3]);
+            }
+
+            dataIn.close();
+        }
+        catch (EOFException eof)
+        {
+            try { dataIn.close(); } catch (IOException io2) { }
+            throw new IllegalArgumentException("Invalid Snapshot: File ends " +
+                    "unexpectedly");
+        }
+        catch (IOException io)
+        {
+            if (dataIn != null)
+            {
+                try { dataIn.close(); } catch (IOException io2) { }
+            }
+            throw new IllegalArgumentException("Failed to read file: " +
+                    io.getMessage());
+        }
+        catch (IllegalArgumentException i)
+        {
+            try { dataIn.close(); } catch (IOException io2) { }
+            throw i;
+        }
+
+        return newNetwork;
+    }
+
     /* Applies the imported list of events to the imported network if valid.
      *  If line invalid, error message is printed to console & reading
      *  continues on next line.
@@ -151,170 +744,34 @@ public class NetworkManager
     public static void applyEvents(Network network, DSALinkedList eventList)
     {
         Iterator eventIter = eventList.iterator();
-        String curLine;
-        String[] splitLine;
         int lineNum = 0;
         while (eventIter.hasNext()) //For each string in imported list
         {
-            curLine = (String) eventIter.next();
             lineNum++;
 
             try
             {
-                if (curLine.equals("")) //If line to read is empty
-                {
-                    throw new IllegalArgumentException("Invalid Format (line "
-                            + lineNum + "): Line cannot be empty");
-                }
-                else if (curLine.indexOf(':') < 0) /*If current line does not
-                    contain a semicolon*/
-                {
-                    throw new IllegalArgumentException("Invalid Format (line "
-                            + lineNum + "): Line must contain at least 1 colon");
-                }
-                switch (curLine.charAt(0)) /*Getting first character in line (should
-                    define event to occur*/
-                {
-                    case 'A': //Add User
-                        splitLine = curLine.split(":");
-                        if (splitLine.length == 2)
-                        {
-                            try
-                            {
-                                network.addUser(splitLine[1]);
-                            }
-                            catch (IllegalArgumentException i)
-                            {
-                                throw new IllegalArgumentException("Logical " +
-                                        "Error (line " + lineNum + "): " +
-                                        i.getMessage());
-                            }
-                        }
-                        else
-                        {
-                            throw new IllegalArgumentException("Invalid Format " +
-                                    "(line " + lineNum + "): Add-User line " +
-                                    "must contain 2 sections");
-                        }
-                        break;
-                    case 'F': //Add follower
-                        splitLine = curLine.split(":");
-                        if (splitLine.length == 3)
-                        {
-                            try
-                            {
-                                network.addFollower(splitLine[2].trim(),
-                                        splitLine[1].trim());
-                            }
-                            catch (IllegalArgumentException i)
-                            {
-                                throw new IllegalArgumentException("Logical " +
-                                        "Error (line " + lineNum + "): " +
-                                        i.getMessage());
-                            }
-                        }
-                        else
-                        {
-                            throw new IllegalArgumentException("Invalid Format " +
-                                    "(line " + lineNum + "): Add-Follower line " +
-                                    "must contain 3 sections");
-                        }
-                        break;
-                    case 'P': //Add post
-                        splitLine = curLine.split(":");
-                        if (splitLine.length == 3) //No clickbait factor
-                        {
-                            try
-                            {
-                                network.makePost(splitLine[1].trim(),
-                                        splitLine[2].trim(), 1);
-                            }
-                            catch (IllegalArgumentException i)
-                            {
-                                throw new IllegalArgumentException("Logical " +
-                                        "Error (line " + lineNum + "): " +
-                                        i.getMessage());
-                            }
-                        }
-                        else if (splitLine.length == 4) //Clickbait factor
-                        {
-                            try
-                            {
-                                network.makePost(splitLine[1].trim(),
-                                        splitLine[2].trim(),
-                                        Double.parseDouble(splitLine[3]));
-                            }
-                            catch (NumberFormatException n)
-                            {
-                                throw new IllegalArgumentException("Invalid " +
-                                        "Format (line " + lineNum + "): Clickbait" +
-                                        " factor is not a number");
-                            }
-                            catch (IllegalArgumentException i)
-                            {
-                                throw new IllegalArgumentException("Logical " +
-                                        "Error (line " + lineNum + "): " +
-                                        i.getMessage());
-                            }
-                        }
-                        else
-                        {
-                            throw new IllegalArgumentException("Invalid Format " +
-                                    "(line " + lineNum + "): Add-Follower line " +
-                                    "must contain 3 or 4 sections");
-                        }
-                        break;
-                    case 'R': //Remove user
-                        splitLine = curLine.split(":");
-                        if (splitLine.length == 2)
-                        {
-                            try
-                            {
-                                network.removeUser(splitLine[1].trim());
-                            }
-                            catch (IllegalArgumentException i)
-                            {
-                                throw new IllegalArgumentException("Logical " +
-                                        "Error (line " + lineNum + "): " +
-                                        i.getMessage());
-                            }
-                        }
-                        else
-                        {
-                            throw new IllegalArgumentException("Invalid Format " +
-                                    "(line " + lineNum + "): Remove-User line " +
-                                    "must contain 2 sections");
-                        }
-                        break;
-                    case 'U': //Remove follower
-                        splitLine = curLine.split(":");
-                        if (splitLine.length == 3)
-                        {
-                            try
-                            {
-                                network.removeFollower(splitLine[2].trim(),
-                                        splitLine[1].trim());
-                            }
-                            catch (IllegalArgumentException i)
-                            {
-                                throw new IllegalArgumentException("Logical " +
-                                        "Error (line " + lineNum + "): " +
-                                        i.getMessage());
-                            }
-                        }
-                        else
-                        {
-                            throw new IllegalArgumentException("Invalid Format " +
-                                    "(line " + lineNum + "): Remove-Follower line " +
-                                    "must contain 3 sections");
-                        }
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Invalid Format (line "
-                                + lineNum + "): Event descriptor must be " +
-                                "either A (add user), F (add follower) or " +
-                                "P (make post)");
-                }
+                applyEvent(network, (String) eventIter.next(), lineNum);
+            }
+            catch (IllegalArgumentException i) /*If failed to read current
+                line*/
+            {
+                System.out.println(i.getMessage());
+            }
+        }
+    }
+
+    /* Applies the events read by the imported line reader to the imported
+     *  network as each line is read (so the event file is never held in
+     *  memory as a whole). Invalid lines are handled as in the list version.
+     */
+    public static void applyEvents(Network network, MappedLineReader reader)
+    {
+        while (reader.nextLine()) //For each line left in reader
+        {
+            try
+            {
+                applyEvent(network, reader.getLine(), reader.getLineNum());
             }
             catch (IllegalArgumentException i) /*If failed to read current
                 line*/
@@ -324,29 +781,223 @@ public class NetworkManager
         }
     }
 
+    /* Applies the events in the events file with the imported name to the
+     *  imported network line by line (see above). Throws exception if the
+     *  file cannot be read.
+     */
+    public static void applyEventsFile(Network network, String filename)
+    {
+        MappedLineReader reader = FileManager.openMappedFile(filename);
+
+        try
+        {
+            applyEvents(network, reader);
+        }
+        finally
+        {
+            reader.close();
+        }
+    }
+
+    /* Applies the event described by the imported events file line (with the
+     *  imported line number) to the imported network, throws exception if
+     *  line is invalid or event breaks a network rule
+     */
+    private static void applyEvent(Network network, String curLine,
+                                   int lineNum)
+    {
+        String[] splitLine;
+
+        if (curLine.equals("")) //If line to read is empty
+        {
+            throw new IllegalArgumentException("Invalid Format (line "
+                    + lineNum + "): Line cannot be empty");
+        }
+        else if (curLine.indexOf(':') < 0) /*If current line does not
+            contain a semicolon*/
+        {
+            throw new IllegalArgumentException("Invalid Format (line "
+                    + lineNum + "): Line must contain at least 1 colon");
+        }
+        switch (curLine.charAt(0)) /*Getting first character in line (should
+            define event to occur*/
+        {
+            case 'A': //Add User
+                splitLine = curLine.split(":");
+                if (splitLine.length == 2)
+                {
+                    try
+                    {
+                        network.addUser(splitLine[1]);
+                    }
+                    catch (IllegalArgumentException i)
+                    {
+                        throw new IllegalArgumentException("Logical " +
+                                "Error (line " + lineNum + "): " +
+                                i.getMessage());
+                    }
+                }
+                else
+                {
+                    throw new IllegalArgumentException("Invalid Format " +
+                            "(line " + lineNum + "): Add-User line " +
+                            "must contain 2 sections");
+                }
+                break;
+            case 'F': //Add follower
+                splitLine = curLine.split(":");
+                if (splitLine.length == 3)
+                {
+                    try
+                    {
+                        network.addFollower(splitLine[2].trim(),
+                                splitLine[1].trim());
+                    }
+                    catch (IllegalArgumentException i)
+                    {
+                        throw new IllegalArgumentException("Logical " +
+                                "Error (line " + lineNum + "): " +
+                                i.getMessage());
+                    }
+                }
+                else
+                {
+                    throw new IllegalArgumentException("Invalid Format " +
+                            "(line " + lineNum + "): Add-Follower line " +
+                            "must contain 3 sections");
+                }
+                break;
+            case 'P': //Add post
+                splitLine = curLine.split(":");
+                if (splitLine.length == 3) //No clickbait factor
+                {
+                    try
+                    {
+                        network.makePost(splitLine[1].trim(),
+                                splitLine[2].trim(), 1);
+                    }
+                    catch (IllegalArgumentException i)
+                    {
+                        throw new IllegalArgumentException("Logical " +
+                                "Error (line " + lineNum + "): " +
+                                i.getMessage());
+                    }
+                }
+                else if (splitLine.length == 4) //Clickbait factor
+                {
+                    try
+                    {
+                        network.makePost(splitLine[1].trim(),
+                                splitLine[2].trim(),
+                                Double.parseDouble(splitLine[3]));
+                    }
+                    catch (NumberFormatException n)
+                    {
+                        throw new IllegalArgumentException("Invalid " +
+                                "Format (line " + lineNum + "): Clickbait" +
+                                " factor is not a number");
+                    }
+                    catch (IllegalArgumentException i)
+                    {
+                        throw new IllegalArgumentException("Logical " +
+                                "Error (line " + lineNum + "): " +
+                                i.getMessage());
+                    }
+                }
+                else
+                {
+                    throw new IllegalArgumentException("Invalid Format " +
+                            "(line " + lineNum + "): Add-Follower line " +
+                            "must contain 3 or 4 sections");
+                }
+                break;
+            case 'R': //Remove user
+                splitLine = curLine.split(":");
+                if (splitLine.length == 2)
+                {
+                    try
+                    {
+                        network.removeUser(splitLine[1].trim());
+                    }
+                    catch (IllegalArgumentException i)
+                    {
+                        throw new IllegalArgumentException("Logical " +
+                                "Error (line " + lineNum + "): " +
+                                i.getMessage());
+                    }
+                }
+                else
+                {
+                    throw new IllegalArgumentException("Invalid Format " +
+                            "(line " + lineNum + "): Remove-User line " +
+                            "must contain 2 sections");
+                }
+                break;
+            case 'U': //Remove follower
+                splitLine = curLine.split(":");
+                if (splitLine.length == 3)
+                {
+                    try
+                    {
+                        network.removeFollower(splitLine[2].trim(),
+                                splitLine[1].trim());
+                    }
+                    catch (IllegalArgumentException i)
+                    {
+                        throw new IllegalArgumentException("Logical " +
+                                "Error (line " + lineNum + "): " +
+                                i.getMessage());
+                    }
+                }
+                else
+                {
+                    throw new IllegalArgumentException("Invalid Format " +
+                            "(line " + lineNum + "): Remove-Follower line " +
+                            "must contain 3 sections");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid Format (line "
+                        + lineNum + "): Event descriptor must be " +
+                        "either A (add user), F (add follower) or " +
+                        "P (make post)");
+        }
+    }
+
     /* Creates a log containing information of the imported network at the
      *  current timestep and returns as a linked list of strings.
      */
     public static DSALinkedList logTimeStep(Network network)
     {
-        DSALinkedList timeStepList = new DSALinkedList();
+        LogWriter listWriter = new LogWriter();
 
+        logTimeStep(network, listWriter);
+
+        return listWriter.getLines();
+    }
+
+    /* Writes a log containing information of the imported network at the
+     *  current timestep to the imported log writer (line by line, without
+     *  collecting the whole log first).
+     */
+    public static void logTimeStep(Network network, LogWriter logWriter)
+    {
         //Adding header
-        timeStepList.insertLast("TIMESTEP " + network.getCurTime() + ":");
+        logWriter.writeLine("TIMESTEP " + network.getCurTime() + ":");
 
         //Adding Network Diagram:
-        timeStepList.insertLast("Network Diagram:");
+        logWriter.writeLine("Network Diagram:");
 
         Iterator diagramIter = network.returnAsList().iterator();
         while (diagramIter.hasNext())
         {
             //Indenting each part of network description for readability
-            timeStepList.insertLast("\t" + (String)diagramIter.next());
+            logWriter.writeLine("\t" + (String)diagramIter.next());
         }
-        timeStepList.insertLast("");
+        logWriter.writeLine("");
 
         //Adding Users by Popularity
-        timeStepList.insertLast("Users by Popularity:");
+        logWriter.writeLine("Users by Popularity:");
         Iterator userIter = network.getUsersByFollowers().iterator();
         int userNum = 1; //Used to number users for readability
         String curUserInfo;
@@ -355,14 +1006,14 @@ public class NetworkManager
             /*Adding tab characters to end of all line breaks in returned string
                 so all of it is indented*/
             curUserInfo = ((String)userIter.next()).replaceAll("\n", "\n\t");
-            timeStepList.insertLast("\t" + userNum + ".");
-            timeStepList.insertLast("\t" + curUserInfo);
+            logWriter.writeLine("\t" + userNum + ".");
+            logWriter.writeLine("\t" + curUserInfo);
             userNum++;
         }
-        timeStepList.insertLast("");
+        logWriter.writeLine("");
 
         //Adding Posts by Popularity
-        timeStepList.insertLast("Posts by Popularity:");
+        logWriter.writeLine("Posts by Popularity:");
         Iterator postIter = network.getPostsByLikes().iterator();
         int postNum = 1; //Used to number users for readability
         String curPostInfo;
@@ -370,12 +1021,368 @@ public class NetworkManager
         {
             //Adding tab characters after line breaks for readability
             curPostInfo = ((String) postIter.next()).replaceAll("\n", "\n\t");
-            timeStepList.insertLast("\t" + postNum + ".");
-            timeStepList.insertLast("\t" + curPostInfo);
+            logWriter.writeLine("\t" + postNum + ".");
+            logWriter.writeLine("\t" + curPostInfo);
             postNum++;
         }
-        timeStepList.insertLast("");
+        logWriter.writeLine("");
+    }
+
+    /* Creates a delta log entry for the imported network at the current
+     *  timestep & returns it as a linked list of strings (see overload below).
+     */
+    public static DSALinkedList logTimeStepDelta(Network network)
+    {
+        LogWriter listWriter = new LogWriter();
+
+        logTimeStepDelta(network, listWriter);
+
+        return listWriter.getLines();
+    }
+
+    /* Writes a delta log entry for the imported network at the current
+     *  timestep to the imported log writer. Every CHECKPOINT_INTERVAL
+     *  timesteps (starting at timestep 0) the entry is a checkpoint of the
+     *  full network state, otherwise it only contains the changes made since
+     *  the last entry. The network must be recording changes (throws
+     *  exception otherwise).
+     */
+    public static void logTimeStepDelta(Network network, LogWriter logWriter)
+    {
+        Iterator recordIter;
+
+        //Getting changes made since last entry (discarded if checkpoint)
+        DSALinkedList changes = network.takeChanges();
+
+        if (network.getCurTime() % CHECKPOINT_INTERVAL == 0)
+        {
+            logWriter.writeLine("TIMESTEP " + network.getCurTime() +
+                    " CHECKPOINT:");
+            recordIter = network.getStateRecords().iterator();
+        }
+        else
+        {
+            logWriter.writeLine("TIMESTEP " + network.getCurTime() +
+                    " DELTA:");
+            recordIter = changes.iterator();
+        }
+
+        while (recordIter.hasNext())
+        {
+            logWriter.writeLine((String) recordIter.next());
+        }
+    }
+
+    /* Rebuilds & returns the network described by the imported delta log (as
+     *  created by logTimeStepDelta) as it was at the imported timestep, by
+     *  applying the changes logged since the last checkpoint at or before it.
+     *  The returned network can be logged or displayed but posts in it will
+     *  not spread further. Throws exception if the log is invalid or has no
+     *  checkpoint at or before the imported timestep.
+     */
+    public static Network rebuildNetwork(DSALinkedList deltaLog, int timeStep)
+    {
+        Network network = null;
+        Iterator logIter;
+        String curLine;
+        int lineNum = 0, checkpointLine = -1, entryTime = 0;
+        boolean checkpoint = false, done = false;
+
+        /*Finding line of last checkpoint at or before timestep (so earlier
+            entries don't have to be applied)*/
+        logIter = deltaLog.iterator();
+        while (logIter.hasNext() && !done)
+        {
+            curLine = (String) logIter.next();
+            lineNum++;
+
+            if (curLine.startsWith("TIMESTEP "))
+            {
+                entryTime = parseEntryTime(curLine, lineNum);
+                if (entryTime > timeStep)
+                {
+                    done = true;
+                }
+                else if (curLine.endsWith(" CHECKPOINT:"))
+                {
+                    checkpointLine = lineNum;
+                }
+            }
+        }
+
+        if (checkpointLine < 0)
+        {
+            throw new IllegalArgumentException("Log has no checkpoint at or " +
+                    "before timestep " + timeStep);
+        }
+
+        //Applying checkpoint & following deltas up to timestep
+        logIter = deltaLog.iterator();
+        lineNum = 0;
+        done = false;
+        while (logIter.hasNext() && !done)
+        {
+            curLine = (String) logIter.next();
+            lineNum++;
+
+            if (lineNum >= checkpointLine)
+            {
+                if (curLine.startsWith("TIMESTEP "))
+                {
+                    entryTime = parseEntryTime(curLine, lineNum);
+                    if (entryTime > timeStep)
+                    {
+                        done = true;
+                    }
+                    else
+                    {
+                        checkpoint = curLine.endsWith(" CHECKPOINT:");
+                        if (checkpoint)
+                        {
+                            network = new Network();
+                        }
+                        network.restoreTime(entryTime);
+                    }
+                }
+                else if (!curLine.equals(""))
+                {
+                    try
+                    {
+                        applyLogRecord(network, curLine, checkpoint);
+                    }
+                    catch (IllegalArgumentException i)
+                    {
+                        throw new IllegalArgumentException("Invalid Log (line "
+                                + lineNum + "): " + i.getMessage());
+                    }
+                }
+            }
+        }
+
+        return network;
+    }
+
+    /* Returns the timestep of the imported delta log entry header line,
+     *  throws exception if it is invalid
+     */
+    private static int parseEntryTime(String headerLine, int lineNum)
+    {
+        String[] splitLine = headerLine.split(" ");
+        int entryTime;
+
+        try
+        {
+            entryTime = Integer.parseInt(splitLine[1]);
+        }
+        catch (NumberFormatException | ArrayIndexOutOfBoundsException e)
+        {
+            throw new IllegalArgumentException("Invalid Log (line " + lineNum +
+                    "): Timestep header must contain timestep number");
+        }
+
+        return entryTime;
+    }
+
+    /* Applies a single record from a delta log to the imported network. The
+     *  imported boolean defines whether the record is part of a checkpoint
+     *  (full state) rather than a change. Throws exception if record invalid.
+     */
+    private static void applyLogRecord(Network network, String record,
+                                       boolean checkpoint)
+    {
+        String[] splitLine;
+
+        try
+        {
+            switch (record.charAt(0))
+            {
+                case 'V': //User (with counts)
+                    splitLine = record.split(":");
+                    network.restoreUser(splitLine[1],
+                            Integer.parseInt(splitLine[2]),
+                            Integer.parseInt(splitLine[3]),
+                            Integer.parseInt(splitLine[4]),
+                            Integer.parseInt(splitLine[5]));
+                    break;
+                case 'E': //Existing follower relationship
+                    splitLine = record.split(":");
+                    network.restoreFollower(splitLine[1], splitLine[2]);
+                    break;
+                case 'A': //Add user
+                    network.addUser(record.substring(2));
+                    break;
+                case 'R': //Remove user
+                    network.removeUser(record.substring(2));
+                    break;
+                case 'F': //Add follower
+                    splitLine = record.split(":");
+                    network.addFollower(splitLine[1], splitLine[2]);
+                    break;
+                case 'U': //Remove follower
+                    splitLine = record.split(":");
+                    network.removeFollower(splitLine[1], splitLine[2]);
+                    break;
+                case 'P': //Post (content is last as may contain colon)
+                    splitLine = record.split(":", 6);
+                    network.restorePost(Integer.parseInt(splitLine[1]),
+                            splitLine[2], splitLine[5],
+                            Double.parseDouble(splitLine[4]),
+                            Integer.parseInt(splitLine[3]), !checkpoint);
+                    break;
+                case 'L': //Like
+                    splitLine = record.split(":");
+                    network.restoreLike(Integer.parseInt(splitLine[1]),
+                            splitLine[2]);
+                    break;
+                case 'X': //Post became stale
+                    splitLine = record.split(":");
+                    network.restoreStale(Integer.parseInt(splitLine[1]));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown record type '"
+                            + record.charAt(0) + "'");
+            }
+        }
+        catch (NumberFormatException | ArrayIndexOutOfBoundsException e)
+        {
+            throw new IllegalArgumentException("Record '" + record + "' has " +
+                    "missing or invalid fields");
+        }
+    }
+
+    /* Validates the current line of the imported reader as a network file
+     *  line (in the same way as loadNetwork) & returns the trimmed user name
+     *  it defines as a 1 element array, or the trimmed followed & follower
+     *  names of the relationship it defines as a 2 element array. Throws
+     *  exception (describing the problem without a line number, as the
+     *  reader may only know its line number within part of the file) if
+     *  line is invalid.
+     */
+    private static String[] parseNetworkLine(MappedLineReader reader)
+    {
+        String[] names;
+        int colon = reader.indexOf(':', 0);
+        int fieldStart, fieldEnd, fieldNum, lastField;
+        int secondColon;
+
+        if (colon != -1) /*If line contains colon (indicating it describes
+            follower relationship*/
+        {
+            /*Counting fields as String.split(":") would (i.e. ignoring empty
+                fields at end of line)*/
+            lastField = 0;
+            fieldNum = 0;
+            fieldStart = 0;
+            do
+            {
+                fieldEnd = reader.indexOf(':', fieldStart);
+                if (fieldEnd == -1)
+                {
+                    fieldEnd = reader.length();
+                }
+                fieldNum++;
+                if (fieldEnd > fieldStart) //If field not empty
+                {
+                    lastField = fieldNum;
+                }
+                fieldStart = fieldEnd + 1;
+            } while (fieldEnd < reader.length());
+
+            secondColon = reader.indexOf(':', colon + 1);
+            if (secondColon == -1)
+            {
+                secondColon = reader.length();
+            }
+
+            if (lastField != 2) //If splitting line gives more/less than 2
+            {
+                throw new IllegalArgumentException("Line defining " +
+                        "follower relationship must have single semicolon");
+            }
+            else if (colon == 0) //If followed user is empty
+            {
+                throw new IllegalArgumentException("Followed & follower " +
+                        "cannot be empty line");
+            }
+
+            names = new String[] {reader.getTrimmedString(0, colon),
+                    reader.getTrimmedString(colon + 1, secondColon)};
+            if (names[0].length() > 30 || names[1].length() > 30) /*If either
+                of 2 usernames input are longer than 30 characters (not
+                counting trailing whitespace)*/
+            {
+                throw new IllegalArgumentException("Followed/follower " +
+                        "name cannot be greater than 30 characters");
+            }
+        }
+        else //If line defines user to be added
+        {
+            if (reader.length() == 0) //If name of user to be added is blank
+            {
+                throw new IllegalArgumentException("New user cannot be " +
+                        "empty line");
+            }
+
+            names = new String[] {reader.getTrimmedString(0, reader.length())};
+            if (names[0].length() > 30) /*If name of user to be added is >30
+                characters*/
+            {
+                throw new IllegalArgumentException("New user name cannot " +
+                        "be greater than 30 characters");
+            }
+        }
+
+        return names;
+    }
+
+    /* Writes the imported non-negative integer to the imported stream as an
+     *  unsigned varint (7 bits per byte, high bit set on all but last byte)
+     */
+    private static void writeVarInt(DataOutputStream dataOut, int value)
+            throws IOException
+    {
+        if (value < 0)
+        {
+            throw new IllegalArgumentException("Cannot write negative value " +
+                    "to snapshot");
+        }
+
+        while (value >= 0x80)
+        {
+            dataOut.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        dataOut.writeByte(value);
+    }
+
+    /* Reads & returns an unsigned varint (see writeVarInt) from the imported
+     *  stream, throws exception if it does not fit in a non-negative integer
+     */
+    private static int readVarInt(DataInputStream dataIn) throws IOException
+    {
+        int value = 0;
+        int shift = 0;
+        int curByte;
+
+        do
+        {
+            if (shift > 28)
+            {
+                throw new IllegalArgumentException("Invalid Snapshot: " +
+                        "Integer too large");
+            }
+
+            curByte = dataIn.readUnsignedByte();
+            value |= (curByte & 0x7F) << shift;
+            shift += 7;
+        } while ((curByte & 0x80) != 0);
+
+        if (value < 0)
+        {
+            throw new IllegalArgumentException("Invalid Snapshot: Integer " +
+                    "too large");
+        }
 
-        return timeStepList;
+        return value;
     }
 }
@@ -0,0 +1,245 @@
+/* Network Metrics by Moritz Bergemann
+ * Counts what a network's timesteps do (likes, shares, users reached, seen
+ *  checks, follows & posts going stale) & records histograms of timestep
+ *  durations & the number of followers visited by each share. Each thread
+ *  records into its own stripe (found once per post spread & passed along),
+ *  so recording needs no locking & parallel timesteps do not contend. Totals
+ *  are added up over all stripes when read, so should be read between
+ *  timesteps.
+ * Created Date: 17/10/2026
+ */
+
+import java.util.*;
+
+public class NetworkMetrics
+{
+    //CLASS FIELDS
+    private DSALinkedList stripes; //Stripes of every thread that has recorded
+    private ThreadLocal<Stripe> threadStripe; //Stripe of current thread
+
+    //PUBLIC INNER CLASSES
+    /* Metrics recorded by a single thread
+     */
+    public class Stripe
+    {
+        //CLASS FIELDS
+        private long likes;
+        private long shares; //Number of times a user shared a post
+        private long deliveries; //Number of users a post was newly shared to
+        private long seenChecks; /*Number of followers checked for whether they
+            had seen a post*/
+        private long follows;
+        private long stalePosts;
+        private DSAHistogram fanOut; //Followers visited per share
+        private DSAHistogram timeStepNanos; //Duration of each timestep
+
+        /* Default Constructor
+         */
+        private Stripe()
+        {
+            fanOut = new DSAHistogram();
+            timeStepNanos = new DSAHistogram();
+        }
+
+        //MUTATORS
+        public void like()
+        {
+            likes++;
+        }
+
+        /* Records a share that visited the imported number of followers &
+         *  newly reached the imported number of them
+         */
+        public void share(int visited, int delivered)
+        {
+            shares++;
+            seenChecks += visited;
+            deliveries += delivered;
+            fanOut.record(visited);
+        }
+
+        public void follow()
+        {
+            follows++;
+        }
+
+        public void stale()
+        {
+            stalePosts++;
+        }
+
+        public void timeStep(long nanos)
+        {
+            timeStepNanos.record(nanos);
+        }
+    }
+
+    //CONSTRUCTORS
+    /* Default Constructor
+     */
+    public NetworkMetrics()
+    {
+        stripes = new DSALinkedList();
+        threadStripe = new ThreadLocal<Stripe>();
+    }
+
+    //MUTATORS
+    /* Returns the current thread's stripe to record metrics in (creating it
+     *  if thread has not recorded yet)
+     */
+    public Stripe stripe()
+    {
+        Stripe curStripe = threadStripe.get();
+
+        if (curStripe == null)
+        {
+            curStripe = new Stripe();
+            synchronized (stripes)
+            {
+                stripes.insertLast(curStripe);
+            }
+            threadStripe.set(curStripe);
+        }
+
+        return curStripe;
+    }
+
+    /* Clears all recorded metrics
+     */
+    public void reset()
+    {
+        Iterator stripeIter;
+        Stripe curStripe;
+
+        synchronized (stripes)
+        {
+            stripeIter = stripes.iterator();
+            while (stripeIter.hasNext())
+            {
+                curStripe = (Stripe)stripeIter.next();
+                curStripe.likes = 0;
+                curStripe.shares = 0;
+                curStripe.deliveries = 0;
+                curStripe.seenChecks = 0;
+                curStripe.follows = 0;
+                curStripe.stalePosts = 0;
+                curStripe.fanOut.clear();
+                curStripe.timeStepNanos.clear();
+            }
+        }
+    }
+
+    //ACCESSORS
+    /* Returns totals of counters over all stripes, in the order likes,
+     *  shares, deliveries, seen checks, follows, stale posts
+     */
+    public long[] getCounters()
+    {
+        long[] counters = new long[6];
+        Iterator stripeIter;
+        Stripe curStripe;
+
+        synchronized (stripes)
+        {
+            stripeIter = stripes.iterator();
+            while (stripeIter.hasNext())
+            {
+                curStripe = (Stripe)stripeIter.next();
+                counters[0] += curStripe.likes;
+                counters[1] += curStripe.shares;
+                counters[2] += curStripe.deliveries;
+                counters[3] += curStripe.seenChecks;
+                counters[4] += curStripe.follows;
+                counters[5] += curStripe.stalePosts;
+            }
+        }
+
+        return counters;
+    }
+
+    public long getLikes()
+    {
+        return getCounters()[0];
+    }
+
+    public long getShares()
+    {
+        return getCounters()[1];
+    }
+
+    public long getDeliveries()
+    {
+        return getCounters()[2];
+    }
+
+    public long getSeenChecks()
+    {
+        return getCounters()[3];
+    }
+
+    public long getFollows()
+    {
+        return getCounters()[4];
+    }
+
+    public long getStalePosts()
+    {
+        return getCounters()[5];
+    }
+
+    /* Returns histogram of number of followers visited by each share (over
+     *  all stripes)
+     */
+    public DSAHistogram getFanOut()
+    {
+        DSAHistogram merged = new DSAHistogram();
+        Iterator stripeIter;
+
+        synchronized (stripes)
+        {
+            stripeIter = stripes.iterator();
+            while (stripeIter.hasNext())
+            {
+                merged.merge(((Stripe)stripeIter.next()).fanOut);
+            }
+        }
+
+        return merged;
+    }
+
+    /* Returns histogram of timestep durations in nanoseconds (over all
+     *  stripes)
+     */
+    public DSAHistogram getTimeStepNanos()
+    {
+        DSAHistogram merged = new DSAHistogram();
+        Iterator stripeIter;
+
+        synchronized (stripes)
+        {
+            stripeIter = stripes.iterator();
+            while (stripeIter.hasNext())
+            {
+                merged.merge(((Stripe)stripeIter.next()).timeStepNanos);
+            }
+        }
+
+        return merged;
+    }
+
+    /* Returns all metrics as a string (one metric per line)
+     */
+    public String toString()
+    {
+        long[] counters = getCounters();
+
+        return "Likes: " + counters[0] + "\n" +
+                "Shares: " + counters[1] + "\n" +
+                "Users Reached: " + counters[2] + "\n" +
+                "Seen Checks: " + counters[3] + "\n" +
+                "Follows: " + counters[4] + "\n" +
+                "Posts Gone Stale: " + counters[5] + "\n" +
+                "Share Fan-Out (followers): " + getFanOut() + "\n" +
+                "Timestep Duration (ns): " + getTimeStepNanos();
+    }
+}
@@ -0,0 +1,308 @@
+/* Phase Profiler by Moritz Bergemann
+ * Measures named phases of a run (e.g. loading, applying events & each
+ *  timestep): wall time, CPU time used by the whole process (so work done by
+ *  worker threads is included), bytes allocated & heap used after a garbage
+ *  collection at the end of each phase. Allocation is summed over threads
+ *  alive when the phase ends, so allocation by threads that end during a
+ *  phase is not counted (the network keeps its worker threads alive for
+ *  this reason). Results can be displayed or written as a CSV or JSON
+ *  report. CPU time & allocation are reported as -1 if the JVM cannot
+ *  measure them.
+ * Created Date: 17/10/2026
+ */
+
+import java.lang.management.*;
+import java.util.*;
+
+public class PhaseProfiler
+{
+    //CONSTANTS
+    public static final double NS_PER_MS = 1000000.0;
+    public static final String CSV_HEADER = "phase,wall_ms,cpu_ms," +
+            "allocated_bytes,heap_after_gc_bytes";
+
+    //CLASS FIELDS
+    private DSALinkedList phases; //Results of finished phases in order run
+    private ThreadMXBean threads;
+    private MemoryMXBean memory;
+    private OperatingSystemMXBean system;
+    private boolean collectGarbage; /*Whether garbage is collected before heap
+        is measured at the end of each phase*/
+    private String curName; //Name of running phase (null if none running)
+    private long startWall; //Values measured when running phase started
+    private long startCpu;
+    private DSAHashTable startAllocated; /*Bytes allocated by each live thread
+        (keyed by thread id) when running phase started, null if allocation
+        not measurable*/
+
+    //PRIVATE INNER CLASSES
+    /* Stores the measurements of a single finished phase
+     */
+    private class Phase
+    {
+        private String name;
+        private long wallNanos;
+        private long cpuNanos; //-1 if not measurable
+        private long allocated; //-1 if not measurable
+        private long heapUsed; //Heap used after phase (& garbage collection)
+
+        /* Returns phase as a CSV line (in order of CSV header)
+         */
+        private String toCsv()
+        {
+            return name + "," + millis(wallNanos) + "," + millis(cpuNanos) +
+                    "," + allocated + "," + heapUsed;
+        }
+
+        /* Returns phase as a JSON object
+         */
+        private String toJson()
+        {
+            return "{\"phase\": \"" + name + "\", \"wall_ms\": " +
+                    millis(wallNanos) + ", \"cpu_ms\": " + millis(cpuNanos) +
+                    ", \"allocated_bytes\": " + allocated +
+                    ", \"heap_after_gc_bytes\": " + heapUsed + "}";
+        }
+    }
+
+    //CONSTRUCTORS
+    /* Default Constructor (collects garbage before measuring heap)
+     */
+    public PhaseProfiler()
+    {
+        this(true);
+    }
+
+    /* Alternate Constructor (takes whether garbage is collected before heap is
+     *  measured at the end of each phase)
+     */
+    public PhaseProfiler(boolean inCollectGarbage)
+    {
+        phases = new DSALinkedList();
+        threads = ManagementFactory.getThreadMXBean();
+        memory = ManagementFactory.getMemoryMXBean();
+        system = ManagementFactory.getOperatingSystemMXBean();
+        collectGarbage = inCollectGarbage;
+        curName = null;
+
+        if (threads instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean)threads)
+                        .isThreadAllocatedMemorySupported())
+        {
+            ((com.sun.management.ThreadMXBean)threads)
+                    .setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    //MUTATORS
+    /* Starts measuring a phase with the imported name, throws exception if a
+     *  phase is already running or name contains a comma or quote
+     */
+    public void start(String inName)
+    {
+        if (curName != null)
+        {
+            throw new IllegalArgumentException("Phase '" + curName + "' is " +
+                    "still running");
+        }
+        else if (inName.indexOf(',') != -1 || inName.indexOf('"') != -1)
+        {
+            throw new IllegalArgumentException("Phase name cannot contain " +
+                    "commas or quotes");
+        }
+
+        curName = inName;
+        startCpu = processCpuTime();
+        startAllocated = threadAllocations();
+        startWall = System.nanoTime(); //Measured last so it is most accurate
+    }
+
+    /* Finishes the running phase, recording its measurements (throws
+     *  exception if no phase is running)
+     */
+    public void stop()
+    {
+        long endWall = System.nanoTime();
+        long endCpu = processCpuTime();
+        Phase phase = new Phase();
+
+        if (curName == null)
+        {
+            throw new IllegalArgumentException("No phase is running");
+        }
+
+        phase.name = curName;
+        phase.wallNanos = endWall - startWall;
+        phase.cpuNanos = (endCpu < 0 || startCpu < 0) ? -1 :
+                endCpu - startCpu;
+        phase.allocated = allocatedSince(startAllocated);
+
+        if (collectGarbage)
+        {
+            System.gc();
+        }
+        phase.heapUsed = memory.getHeapMemoryUsage().getUsed();
+
+        phases.insertLast(phase);
+        curName = null;
+    }
+
+    //ACCESSORS
+    /* Returns number of finished phases
+     */
+    public int getPhaseCount()
+    {
+        return phases.getCount();
+    }
+
+    /* Writes report of all finished phases to the imported writer, as JSON (an
+     *  array of phase objects) if imported boolean is true, CSV otherwise
+     */
+    public void writeReport(LogWriter writer, boolean json)
+    {
+        Iterator phaseIter = phases.iterator();
+
+        writer.writeLine(json ? "[" : CSV_HEADER);
+        while (phaseIter.hasNext())
+        {
+            Phase curPhase = (Phase)phaseIter.next();
+
+            if (json)
+            {
+                writer.writeLine("  " + curPhase.toJson() +
+                        (phaseIter.hasNext() ? "," : ""));
+            }
+            else
+            {
+                writer.writeLine(curPhase.toCsv());
+            }
+        }
+        if (json)
+        {
+            writer.writeLine("]");
+        }
+    }
+
+    /* Displays all finished phases as a table, followed by their totals
+     */
+    public void display()
+    {
+        Iterator phaseIter = phases.iterator();
+        Phase curPhase;
+        long totalWall = 0, totalCpu = 0, totalAllocated = 0;
+
+        System.out.println(String.format("%-16s %12s %12s %14s %14s",
+                "Phase", "Wall (ms)", "CPU (ms)", "Allocated (MB)",
+                "Heap (MB)"));
+        while (phaseIter.hasNext())
+        {
+            curPhase = (Phase)phaseIter.next();
+            System.out.println(String.format("%-16s %12s %12s %14s %14s",
+                    curPhase.name, millis(curPhase.wallNanos),
+                    millis(curPhase.cpuNanos), megabytes(curPhase.allocated),
+                    megabytes(curPhase.heapUsed)));
+            totalWall += curPhase.wallNanos;
+            totalCpu = (totalCpu < 0 || curPhase.cpuNanos < 0) ? -1 :
+                    totalCpu + curPhase.cpuNanos;
+            totalAllocated = (totalAllocated < 0 || curPhase.allocated < 0) ?
+                    -1 : totalAllocated + curPhase.allocated;
+        }
+        System.out.println(String.format("%-16s %12s %12s %14s", "Total",
+                millis(totalWall), millis(totalCpu),
+                megabytes(totalAllocated)));
+    }
+
+    //PRIVATE METHODS
+    /* Returns CPU time (ns) used so far by the whole process, or -1 if not
+     *  measurable
+     */
+    private long processCpuTime()
+    {
+        long total = -1;
+
+        if (system instanceof com.sun.management.OperatingSystemMXBean)
+        {
+            total = ((com.sun.management.OperatingSystemMXBean)system)
+                    .getProcessCpuTime(); //-1 if not supported
+        }
+
+        return total;
+    }
+
+    /* Returns table of bytes allocated so far by each live thread (keyed by
+     *  thread id), or null if not measurable
+     */
+    private DSAHashTable threadAllocations()
+    {
+        DSAHashTable allocations = null;
+        long[] ids, allocated;
+
+        if (threads instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean)threads)
+                        .isThreadAllocatedMemoryEnabled())
+        {
+            ids = threads.getAllThreadIds();
+            allocated = ((com.sun.management.ThreadMXBean)threads)
+                    .getThreadAllocatedBytes(ids);
+            allocations = new DSAHashTable(ids.length);
+            for (int ii = 0; ii < ids.length; ii++)
+            {
+                if (allocated[ii] >= 0) //Thread may have ended since ids taken
+                {
+                    allocations.put(Long.toString(ids[ii]),
+                            Long.valueOf(allocated[ii]));
+                }
+            }
+        }
+
+        return allocations;
+    }
+
+    /* Returns bytes allocated by threads alive now since the imported table
+     *  of allocations was taken (each thread's allocation is counted from 0 if
+     *  it started since then), or -1 if not measurable
+     */
+    private long allocatedSince(DSAHashTable startAllocations)
+    {
+        long total = -1;
+        long[] ids, allocated;
+        Object startValue;
+
+        if (startAllocations != null)
+        {
+            ids = threads.getAllThreadIds();
+            allocated = ((com.sun.management.ThreadMXBean)threads)
+                    .getThreadAllocatedBytes(ids);
+            total = 0;
+            for (int ii = 0; ii < ids.length; ii++)
+            {
+                if (allocated[ii] >= 0) //Thread may have ended since ids taken
+                {
+                    startValue = startAllocations.get(Long.toString(ids[ii]));
+                    total += allocated[ii] - ((startValue == null) ? 0 :
+                            ((Long)startValue).longValue());
+                }
+            }
+        }
+
+        return total;
+    }
+
+    /* Returns imported nanoseconds as a millisecond string (or "-1" if
+     *  imported value is negative, i.e. not measurable)
+     */
+    private static String millis(long nanos)
+    {
+        return (nanos < 0) ? "-1" : String.format(Locale.ROOT, "%.3f",
+                nanos / NS_PER_MS);
+    }
+
+    /* Returns imported bytes as a megabyte string (or "-1" if imported value
+     *  is negative, i.e. not measurable)
+     */
+    private static String megabytes(long bytes)
+    {
+        return (bytes < 0) ? "-1" : String.format(Locale.ROOT, "%.3f",
+                bytes / (double)SocialSim.MB);
+    }
+}
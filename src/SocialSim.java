@@ -3,19 +3,21 @@
  *  the social simulation program. The manner in which the program is run is
  *  dependant on the given command line parameters.
  */
-import java.lang.management.*;
 import java.util.*;
 
 public class SocialSim
 {
     //CONTSTANTS
     public static final int MB = 1024 * 1024; //For conversion of bytes & MB
+    public static final String[] SIMULATION_FLAGS = {"-p", "-r", "-l", "-w",
+        "-e", "-m"}; //Flags of optional arguments for simulation mode
+    public static final String[] TESTING_FLAGS = {"-p", "-r", "-l", "-w",
+        "-e", "-n", "-o", "-m"}; //Flags of optional arguments for testing mode
+    public static final int LOG_FLUSH_INTERVAL = 10; /*Number of timesteps
+        between flushes of log file to disk*/
 
     public static void main(String[] args)
     {
-
-        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
-
         try
         {
             readCommandLine(args);
@@ -39,26 +41,42 @@ public class SocialSim
         }
         else if (args[0].equals("-s")) /*If Simulation Mode flag given*/
         {
-            if (args.length == 5) /*If correct number of other parameters
+            if (args.length >= 5 && validOptions(args, 5, SIMULATION_FLAGS))
+                /*If correct number of other parameters & valid options
                 provided for simulation mode*/
             {
                 try
                 {
                     simulation(args[1], args[2], Double.parseDouble(args[3]),
-                            Double.parseDouble(args[4]));
+                            Double.parseDouble(args[4]),
+                            Integer.parseInt(getOption(args, 5, "-p", "1")),
+                            parseSeed(getOption(args, 5, "-r", null)),
+                            parseLogFormat(getOption(args, 5, "-l", "full")),
+                            Integer.parseInt(getOption(args, 5, "-w", "0")),
+                            parseEdgeStorage(getOption(args, 5, "-e",
+                                    "heap")),
+                            parseBoolean(getOption(args, 5, "-m", "false"),
+                                    "Metrics"));
                 }
                 catch (NumberFormatException n)
                 {
                     System.out.println("Failed to initiate simulation mode: " +
                             "3rd & 4th parameters (like & follow " +
-                            "probabilities) must be numbers");
+                            "probabilities), thread count, seed & writer " +
+                            "queue size must be numbers");
+                }
+                catch (IllegalArgumentException i)
+                {
+                    System.out.println("Failed to initiate simulation mode: " +
+                            i.getMessage());
                 }
             }
             else
             {
-                System.out.println("Invalid number of command line arguments" +
-                        "given for simulation mode! Run without command line" +
-                        "parameters for usage information.");
+                System.out.println("Invalid number of command line " +
+                        "arguments or invalid options given for simulation " +
+                        "mode! Run without command line parameters for " +
+                        "usage information.");
             }
         }
         else if (args[0].equals("-i")) /*If Interactive Mode flag given*/
@@ -77,21 +95,46 @@ public class SocialSim
         }
         else if (args[0].equals("-t")) //If testing mode flag given
         {
-            if (args.length == 6) /*If correct number of other parameters
+            if (args.length >= 6 && validOptions(args, 6, TESTING_FLAGS))
+                /*If correct number of other parameters & valid options
                 provided for testing mode*/
             {
                 try
                 {
                     testing(args[1], args[2], Double.parseDouble(args[3]),
                             Double.parseDouble(args[4]),
-                            Integer.parseInt(args[5]));
+                            Integer.parseInt(args[5]),
+                            Integer.parseInt(getOption(args, 6, "-p", "1")),
+                            parseSeed(getOption(args, 6, "-r", null)),
+                            parseLogFormat(getOption(args, 6, "-l", "full")),
+                            Integer.parseInt(getOption(args, 6, "-w", "0")),
+                            parseEdgeStorage(getOption(args, 6, "-e",
+                                    "heap")),
+                            parseBoolean(getOption(args, 6, "-n", "false"),
+                                    "No-pause"),
+                            getOption(args, 6, "-o", null),
+                            parseBoolean(getOption(args, 6, "-m", "false"),
+                                    "Metrics"));
                 }
                 catch (NumberFormatException n)
                 {
                     System.out.println("Failed to initiate testing mode: " +
                             "3rd & 4th parameters (like & follow " +
-                            "probabilities) must be numbers");
+                            "probabilities), timesteps, thread count, seed & " +
+                            "writer queue size must be numbers");
                 }
+                catch (IllegalArgumentException i)
+                {
+                    System.out.println("Failed to initiate testing mode: " +
+                            i.getMessage());
+                }
+            }
+            else
+            {
+                System.out.println("Invalid number of command line " +
+                        "arguments or invalid options given for testing " +
+                        "mode! Run without command line parameters for " +
+                        "usage information.");
             }
         }
         else
@@ -101,6 +144,191 @@ public class SocialSim
         }
     }
 
+    /* Returns whether the optional arguments (from the imported start index
+     *  onwards) are all flags in the imported list each followed by a value
+     */
+    public static boolean validOptions(String[] args, int start,
+                                       String[] flags)
+    {
+        boolean valid = true;
+        boolean knownFlag;
+
+        for (int ii = start; ii < args.length; ii += 2)
+        {
+            knownFlag = false;
+            for (int jj = 0; jj < flags.length; jj++)
+            {
+                if (args[ii].equals(flags[jj]))
+                {
+                    knownFlag = true;
+                }
+            }
+
+            if (!knownFlag || ii + 1 >= args.length) /*If flag is unknown or
+                has no value after it*/
+            {
+                valid = false;
+            }
+        }
+
+        return valid;
+    }
+
+    /* Returns the imported random seed argument as a number, or null if no
+     *  seed was given (throws NumberFormatException if seed is not a number)
+     */
+    public static Long parseSeed(String seedArg)
+    {
+        Long seed = null;
+
+        if (seedArg != null)
+        {
+            seed = Long.parseLong(seedArg);
+        }
+
+        return seed;
+    }
+
+    /* Returns the value given after the imported option flag in the optional
+     *  arguments (from the imported start index onwards), or the imported
+     *  default value if the flag was not given
+     */
+    public static String getOption(String[] args, int start, String flag,
+                                   String defaultValue)
+    {
+        String value = defaultValue;
+
+        for (int ii = start; ii < args.length - 1; ii += 2)
+        {
+            if (args[ii].equals(flag))
+            {
+                value = args[ii + 1];
+            }
+        }
+
+        return value;
+    }
+
+    /* Returns whether the imported log format argument selects delta logs
+     *  ("delta") rather than full logs ("full"), throws exception otherwise
+     */
+    public static boolean parseLogFormat(String formatArg)
+    {
+        boolean deltaLog;
+
+        if (formatArg.equals("delta"))
+        {
+            deltaLog = true;
+        }
+        else if (formatArg.equals("full"))
+        {
+            deltaLog = false;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Log format must be either " +
+                    "'full' or 'delta'");
+        }
+
+        return deltaLog;
+    }
+
+    /* Returns whether the imported edge storage argument selects off-heap
+     *  storage ("offheap") rather than heap storage ("heap"), throws
+     *  exception otherwise
+     */
+    public static boolean parseEdgeStorage(String storageArg)
+    {
+        boolean offHeap;
+
+        if (storageArg.equals("offheap"))
+        {
+            offHeap = true;
+        }
+        else if (storageArg.equals("heap"))
+        {
+            offHeap = false;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Edge storage must be either " +
+                    "'heap' or 'offheap'");
+        }
+
+        return offHeap;
+    }
+
+    /* Returns whether the imported argument of the option with the imported
+     *  name is "true" (rather than "false"), throws exception otherwise
+     */
+    public static boolean parseBoolean(String booleanArg, String optionName)
+    {
+        boolean value;
+
+        if (booleanArg.equals("true"))
+        {
+            value = true;
+        }
+        else if (booleanArg.equals("false"))
+        {
+            value = false;
+        }
+        else
+        {
+            throw new IllegalArgumentException(optionName + " option must " +
+                    "be either 'true' or 'false'");
+        }
+
+        return value;
+    }
+
+    /* Writes the log of the imported network's current timestep to the
+     *  imported log writer, either as a full snapshot or (if the imported
+     *  boolean is true) as a delta log entry
+     */
+    public static void logNetwork(Network network, LogWriter logWriter,
+                                  boolean deltaLog)
+    {
+        if (deltaLog)
+        {
+            NetworkManager.logTimeStepDelta(network, logWriter);
+        }
+        else
+        {
+            NetworkManager.logTimeStep(network, logWriter);
+        }
+
+        logWriter.endTimeStep();
+    }
+
+    /* Opens & returns a writer for a new log file with the imported name. If
+     *  the imported queue size is above 0, logs are written by a separate
+     *  writer thread with up to that many timesteps waiting to be written.
+     */
+    public static LogWriter openLogWriter(String logFileName, int writerQueue)
+    {
+        LogWriter logWriter;
+
+        if (writerQueue < 0)
+        {
+            throw new IllegalArgumentException("Log writer queue size cannot " +
+                    "be negative");
+        }
+
+        //Append is false as must initially create log file
+        if (writerQueue > 0) //If logs should be written asynchronously
+        {
+            logWriter = new AsyncLogWriter(logFileName, false,
+                    LOG_FLUSH_INTERVAL, writerQueue);
+        }
+        else
+        {
+            logWriter = new LogWriter(logFileName, false, LOG_FLUSH_INTERVAL);
+        }
+
+        return logWriter;
+    }
+
     /* Displays program usage information.
      */
     public static void usageInfo()
@@ -125,13 +353,44 @@ public class SocialSim
         System.out.println("\tprob_foll: Probability (as decimal 0.0 to 1.0) " +
                 "that a person who has a post shared with them will follow " +
                 "the original poster");
+        System.out.println("\tOptional: \"-p <threads>\": Number of " +
+                "threads used to spread posts in each timestep (default 1, " +
+                "sequential)");
+        System.out.println("\tOptional: \"-r <seed>\": Seed for random " +
+                "like/follow chances (runs with the same inputs & seed give " +
+                "identical logs)");
+        System.out.println("\tOptional: \"-l <full|delta>\": Log format " +
+                "(full logs the whole network every timestep, delta logs only " +
+                "the changes made in each timestep with a full checkpoint " +
+                "every " + NetworkManager.CHECKPOINT_INTERVAL + " timesteps)");
+        System.out.println("\tOptional: \"-w <queue>\": Write logs on a " +
+                "separate thread, with up to <queue> timesteps waiting to be " +
+                "written before the simulation waits for the writer (default " +
+                "0, logs written by the simulation thread)");
+        System.out.println("\tOptional: \"-e <heap|offheap>\": Where " +
+                "follower relationships are stored once loaded (offheap keeps " +
+                "them outside the Java heap, for very large networks; default " +
+                "heap)");
+        System.out.println("\tOptional: \"-m <true|false>\": Record " +
+                "counts of likes, shares, follows etc. & histograms of " +
+                "timestep durations & share fan-out, displayed at the end " +
+                "(default false)");
         System.out.println("\"-i\": Interactive Mode (allows the user to " +
                 "manually load/save networks and configure parts of the " +
                 "network live. Requires no further command line arguments.");
-        System.out.println("\"-t\": Testing Mode (identical to simulation mode" +
-                "except that files are not saved (for performance reasons) " +
-                "and network statistics such as execution time and memory " +
-                "usage are provided");
+        System.out.println("\"-t\": Testing Mode (identical to simulation " +
+                "mode except that it pauses for input before loading, before " +
+                "starting & after each of the first timesteps (so a profiler " +
+                "can be attached), & the wall time, CPU time, bytes " +
+                "allocated & heap used after garbage collection are reported " +
+                "for each phase (loading, events, each timestep & each log). " +
+                "Takes the simulation mode arguments followed by the number " +
+                "of timesteps to pause after, & the same optional arguments, " +
+                "plus:");
+        System.out.println("\tOptional: \"-n <true|false>\": Run without " +
+                "pausing for input (default false)");
+        System.out.println("\tOptional: \"-o <report>\": File to save the " +
+                "phase report to (JSON if name ends in .json, CSV otherwise)");
     }
 
 
@@ -139,7 +398,10 @@ public class SocialSim
      *  the network using the imported like and follow probabilities.
      */
     public static void simulation(String networkFilename, String eventFilename,
-                                  double likeProb, double followProb)
+                                  double likeProb, double followProb,
+                                  int threadCount, Long seed,
+                                  boolean deltaLog, int writerQueue,
+                                  boolean offHeapEdges, boolean recordMetrics)
     {
         Network network;
 
@@ -148,21 +410,34 @@ public class SocialSim
             methods)*/
         try
         {
-            //Loading network from network file
-            DSALinkedList netInfo = FileManager.readFile(networkFilename);
-            network = NetworkManager.loadNetwork(netInfo);
+            //Loading network from network file (in parallel if multithreaded)
+            if (threadCount > 1)
+            {
+                network = NetworkManager.loadNetworkParallel(networkFilename,
+                        threadCount);
+            }
+            else
+            {
+                network = NetworkManager.loadNetworkFile(networkFilename);
+            }
+            network.setOffHeapEdges(offHeapEdges);
+            network.setMetricsEnabled(recordMetrics);
             System.out.println("Settings file read successfully.");
 
             //Setting network like/follow probabilities
             network.setLikeChance(likeProb);
             network.setFollowChance(followProb);
+            network.setThreadCount(threadCount);
+            if (seed != null) //If simulation should be reproducible
+            {
+                network.setSeed(seed);
+            }
 
             /*Applying events from event file (will not abort program even if
                 entire file invalid, invalid lines are simply skipped & error
                 message printed*/
             System.out.println("Reading events file:");
-            DSALinkedList eventInfo = FileManager.readFile(eventFilename);
-            NetworkManager.applyEvents(network, eventInfo);
+            NetworkManager.applyEventsFile(network, eventFilename);
 
             /*Creating log file with auto-generated name & saving initial state
                 of network to it*/
@@ -170,9 +445,11 @@ public class SocialSim
                     eventFilename);
             System.out.println("Saving logs to " + logFileName);
 
-            DSALinkedList timeStepLog = NetworkManager.logTimeStep(network);
-            FileManager.writeFile(logFileName, timeStepLog, false); /*
-                append is false as must initially create log file*/
+            //Recording changes made from this point on (for delta logs)
+            network.setRecordChanges(deltaLog);
+
+            //Opening log file once for whole simulation
+            LogWriter logWriter = openLogWriter(logFileName, writerQueue);
 
             System.out.println();
 
@@ -181,6 +458,8 @@ public class SocialSim
             System.out.println("Starting simulation.");
             try
             {
+                logNetwork(network, logWriter, deltaLog);
+
                 while (!network.allPostsStale()) /*While all posts in network
                     can still be shared further (i.e. Further timesteps will
                     continue to perform actions*/
@@ -189,15 +468,20 @@ public class SocialSim
                     network.timeStep();
 
                     //Appending log of current timestep to log file
-                    timeStepLog = NetworkManager.logTimeStep(network);
-                    FileManager.writeFile(logFileName, timeStepLog, true);
+                    logNetwork(network, logWriter, deltaLog);
                 }
                 System.out.println("Simulation completed successfully.");
+                displayMetrics(network);
             }
             catch (IllegalArgumentException i)
             {
                 System.out.println("Simulation Aborted: " + i.getMessage());
             }
+            finally
+            {
+                //Closing log file (writing any timesteps still buffered)
+                logWriter.close();
+            }
         }
         catch (IllegalArgumentException i)
         {
@@ -206,12 +490,22 @@ public class SocialSim
         }
     }
 
+    /* Runs the simulation like simulation mode, pausing for input (unless
+     *  no-pause is true) before loading, before starting & after each of the
+     *  imported number of timesteps, & measuring each phase of the run (see
+     *  PhaseProfiler). The phase report is displayed & (if the imported report
+     *  filename is not null) saved as JSON or CSV.
+     */
     public static void testing(String networkFilename, String eventFilename,
                                double likeProb, double followProb,
-                               int timeSteps)
+                               int timeSteps, int threadCount,
+                               Long seed, boolean deltaLog, int writerQueue,
+                               boolean offHeapEdges, boolean noPause,
+                               String reportFilename, boolean recordMetrics)
     {
         Network network;
         Scanner sc = new Scanner(System.in);
+        PhaseProfiler profiler = new PhaseProfiler();
 
         if (timeSteps < 1) //If timestep input is less than 1 (invalid)
         {
@@ -226,24 +520,40 @@ public class SocialSim
         {
             /*Delaying loading of network until input given (to allow for
                 profiler connection for memory storage)*/
-            System.out.print("Ready to load. Give any input to begin: ");
-            sc.nextLine();
+            pause("Ready to load. Give any input to begin: ", sc, noPause);
 
-            //Loading network from network file
-            DSALinkedList netInfo = FileManager.readFile(networkFilename);
-            network = NetworkManager.loadNetwork(netInfo);
+            //Loading network from network file (in parallel if multithreaded)
+            profiler.start("load");
+            if (threadCount > 1)
+            {
+                network = NetworkManager.loadNetworkParallel(networkFilename,
+                        threadCount);
+            }
+            else
+            {
+                network = NetworkManager.loadNetworkFile(networkFilename);
+            }
+            network.setOffHeapEdges(offHeapEdges);
+            network.setMetricsEnabled(recordMetrics);
+            profiler.stop();
             System.out.println("Settings file read successfully.");
 
             //Setting network like/follow probabilities
             network.setLikeChance(likeProb);
             network.setFollowChance(followProb);
+            network.setThreadCount(threadCount);
+            if (seed != null) //If simulation should be reproducible
+            {
+                network.setSeed(seed);
+            }
 
             /*Applying events from event file (will not abort program even if
                 entire file invalid, invalid lines are simply skipped & error
                 message printed*/
             System.out.println("Reading events file:");
-            DSALinkedList eventInfo = FileManager.readFile(eventFilename);
-            NetworkManager.applyEvents(network, eventInfo);
+            profiler.start("events");
+            NetworkManager.applyEventsFile(network, eventFilename);
+            profiler.stop();
 
             /*Creating log file with auto-generated name & saving initial state
                 of network to it*/
@@ -251,39 +561,47 @@ public class SocialSim
                     eventFilename);
             System.out.println("Saving logs to " + logFileName);
 
-            DSALinkedList timeStepLog = NetworkManager.logTimeStep(network);
-            FileManager.writeFile(logFileName, timeStepLog, false); /*
-                append is false as must initially create log file*/
+            //Recording changes made from this point on (for delta logs)
+            network.setRecordChanges(deltaLog);
+
+            //Opening log file once for whole simulation
+            LogWriter logWriter = openLogWriter(logFileName, writerQueue);
 
             System.out.println();
 
             /*Delaying start until input given (to allow for profiler
                 connection)*/
-            System.out.print("Ready to start. Give any input to begin: ");
-            sc.nextLine();
+            pause("Ready to start. Give any input to begin: ", sc, noPause);
 
             /*Running simulation (Any unhandled exceptions thrown will abort
                 simulation, should never happen if inputs were valid*/
             System.out.println("Starting simulation.");
             try
             {
+                profiler.start("log 0");
+                logNetwork(network, logWriter, deltaLog);
+                profiler.stop();
+
                 while (!network.allPostsStale()) /*While all posts in
                         network can still be shared further*/
                 {
                     //Running timeStep
+                    profiler.start("timestep " + (network.getCurTime() + 1));
                     network.timeStep();
+                    profiler.stop();
 
                     //Appending log of current timestep to log file
-                    timeStepLog = NetworkManager.logTimeStep(network);
-                    FileManager.writeFile(logFileName, timeStepLog, true);
+                    profiler.start("log " + network.getCurTime());
+                    logNetwork(network, logWriter, deltaLog);
+                    profiler.stop();
 
                     if (network.getCurTime() <= timeSteps) /*If number of
                         timesteps run less than or equal to number of timesteps
                         to stop at*/
                     {
-                        System.out.print("Timestep " + network.getCurTime() +
-                                " complete. Give any input to continue: ");
-                        sc.nextLine();
+                        pause("Timestep " + network.getCurTime() +
+                                " complete. Give any input to continue: ", sc,
+                                noPause);
                     }
                     else
                     {
@@ -292,14 +610,28 @@ public class SocialSim
                     }
                 }
 
-                System.out.print("Simulation completed successfully. Give" +
-                        " any input to exit: ");
-                sc.nextLine();
+                System.out.println();
+                profiler.display();
+                displayMetrics(network);
+                if (reportFilename != null) //If report should be saved
+                {
+                    saveReport(profiler, reportFilename);
+                    System.out.println("Saved phase report to " +
+                            reportFilename);
+                }
+
+                pause("Simulation completed successfully. Give any input to " +
+                        "exit: ", sc, noPause);
             }
             catch (IllegalArgumentException i)
             {
                 System.out.println("Simulation Aborted: " + i.getMessage());
             }
+            finally
+            {
+                //Closing log file (writing any timesteps still buffered)
+                logWriter.close();
+            }
         }
         catch (IllegalArgumentException i)
         {
@@ -308,6 +640,52 @@ public class SocialSim
         }
     }
 
+    /* Displays the metrics recorded by the imported network (if any)
+     */
+    private static void displayMetrics(Network network)
+    {
+        if (network.getMetrics() != null) //If metrics were recorded
+        {
+            System.out.println("Simulation metrics:");
+            System.out.println(network.getMetrics());
+        }
+    }
+
+    /* Prints the imported prompt & waits for a line of input (or just prints
+     *  the prompt's first sentence if no-pause is true)
+     */
+    private static void pause(String prompt, Scanner sc, boolean noPause)
+    {
+        if (noPause)
+        {
+            System.out.println(prompt.substring(0, prompt.indexOf('.') + 1));
+        }
+        else
+        {
+            System.out.print(prompt);
+            sc.nextLine();
+        }
+    }
+
+    /* Saves the imported profiler's phase report to the file with the
+     *  imported name (as JSON if name ends in ".json", CSV otherwise)
+     */
+    private static void saveReport(PhaseProfiler profiler,
+                                   String reportFilename)
+    {
+        LogWriter reportWriter = new LogWriter(reportFilename, false, 0);
+
+        try
+        {
+            profiler.writeReport(reportWriter,
+                    reportFilename.endsWith(".json"));
+        }
+        finally
+        {
+            reportWriter.close();
+        }
+    }
+
     /*Runs (and repeats) the menu for the program's interactive mode, and calls
      * the required functions to perform the selected tasks.
      */
@@ -343,18 +721,24 @@ public class SocialSim
             switch (menuChoice)
             {
                 case 1: //Load network
+                    int loadFormat = inputInt("Input format of file to read " +
+                            "(1: network file, 2: binary snapshot)", 1, 2);
                     System.out.print("Input name of network file to read: ");
                     String netFileName = sc.nextLine();
                     try
                     {
-                        //Reading file at filename input by user
-                        DSALinkedList loadList =
-                                FileManager.readFile(netFileName);
-
                         /*Attempting to create new network from contents of
-                            network file & setting used network to it if
-                            successful (otherwise exception will abort)*/
-                        network = NetworkManager.loadNetwork(loadList);
+                            file & setting used network to it if successful
+                            (otherwise exception will abort)*/
+                        if (loadFormat == 2) //If loading binary snapshot
+                        {
+                            network = NetworkManager.loadSnapshot(netFileName);
+                        }
+                        else
+                        {
+                            network = NetworkManager.loadNetworkFile(
+                                    netFileName);
+                        }
                         System.out.println("File read successfully. The " +
                                 "previous network has been overwritten.");
                     }
@@ -370,13 +754,11 @@ public class SocialSim
                     String eventsFileName = sc.nextLine();
                     try
                     {
-                        DSALinkedList eventList =
-                                FileManager.readFile(eventsFileName);
-
-                        /*Attempting to apply events from read file to existing
-                            network (any invalid lines will be avoided
-                            individually & output error message*/
-                        NetworkManager.applyEvents(network, eventList);
+                        /*Attempting to apply events from file to existing
+                            network as it is read (any invalid lines will be
+                            avoided individually & output error message*/
+                        NetworkManager.applyEventsFile(network,
+                                eventsFileName);
                         System.out.println("Events file reading completed.");
                     }
                     catch (IllegalArgumentException i)
@@ -434,14 +816,25 @@ public class SocialSim
                 case 10: //Save network
                     if (network.getUserCount() > 0)
                     {
+                        int saveFormat = inputInt("Input format to save in " +
+                                "(1: network file, 2: binary snapshot)", 1, 2);
                         System.out.print("Input filename to save to: ");
                         String filename = sc.nextLine();
                         try
                         {
-                            //Creating network file format list from network
-                            DSALinkedList saveList =
-                                    NetworkManager.saveNetwork(network);
-                            FileManager.writeFile(filename, saveList, false);
+                            if (saveFormat == 2) //If saving binary snapshot
+                            {
+                                NetworkManager.saveSnapshot(network, filename);
+                            }
+                            else
+                            {
+                                /*Creating network file format list from
+                                    network*/
+                                DSALinkedList saveList =
+                                        NetworkManager.saveNetwork(network);
+                                FileManager.writeFile(filename, saveList,
+                                        false);
+                            }
                             System.out.println("Network saved successfully.");
                         }
                         catch (IllegalArgumentException i)
@@ -479,8 +872,10 @@ public class SocialSim
         System.out.println("\t1. Show posts in order of popularity\n" +
                 "\t2. Show users in order of popularity\n" +
                 "\t3. Show a user record\n" +
-                "\t4. Cancel");
-        menuChoice = inputInt("Choice", 1, 4);
+                "\t4. Show network statistics\n" +
+                "\t5. Show simulation metrics\n" +
+                "\t6. Cancel");
+        menuChoice = inputInt("Choice", 1, 6);
         switch (menuChoice)
         {
             case 1: //Show posts by popularity
@@ -534,6 +929,22 @@ public class SocialSim
                             i.getMessage());
                 }
                 break;
+            case 4: //Show network statistics
+                System.out.println(network.getStats());
+                break;
+            case 5: //Show simulation metrics
+                if (network.getMetrics() != null)
+                {
+                    System.out.println(network.getMetrics());
+                }
+                else
+                {
+                    //Recording from now on (so later timesteps can be shown)
+                    network.setMetricsEnabled(true);
+                    System.out.println("Metrics were not being recorded. " +
+                            "Recording has been started for this network.");
+                }
+                break;
         }
     }
 
@@ -0,0 +1,97 @@
+/* Test harness for DSAAdjacencyStore by Moritz Bergemann
+ * Created Date: 17/10/2026
+ */
+
+import static java.lang.System.out;
+
+public class UnitTestDSAAdjacencyStore
+{
+    public static void main(String[] args)
+    {
+        for (int mode = 0; mode < 2; mode++)
+        {
+            boolean offHeap = (mode == 1);
+            DSAAdjacencyStore store = new DSAAdjacencyStore(offHeap);
+
+            out.println("Creating adjacency store (off heap: " + offHeap + ")");
+            out.println("Adding ids 5, 1, 3 & 1 again to row 2");
+            out.println("Results (should be true true true false): " +
+                    store.add(2, 5) + " " + store.add(2, 1) + " " +
+                    store.add(2, 3) + " " + store.add(2, 1));
+            out.print("Listing row 2 (should be 1 3 5): ");
+            printRow(store, 2);
+            out.println("Checking row 2 has 3 (should be true): " +
+                    store.has(2, 3));
+            out.println("Checking row 7 (never used) has 3 (should be " +
+                    "false): " + store.has(7, 3));
+            out.println("Removing 3 & 4 from row 2 (should be true false): " +
+                    store.remove(2, 3) + " " + store.remove(2, 4));
+            out.print("Listing row 2 (should be 1 5): ");
+            printRow(store, 2);
+            out.println();
+
+            out.println("Adding 2000 ids to each of 50 rows, alternating " +
+                    "between rows (rows are moved as they grow)");
+            for (int ii = 0; ii < 2000; ii++)
+            {
+                for (int row = 10; row < 60; row++)
+                {
+                    store.add(row, (ii * 7919) % 2000);
+                }
+            }
+            out.println("Getting total ids (should be 100002): " +
+                    store.getEdgeCount());
+            out.println("Getting largest row degree (should be 2000): " +
+                    store.getMaxDegree());
+            out.println("Checking every row is complete & sorted (should be " +
+                    "true): " + rowsSorted(store, 10, 60, 2000));
+            out.println("Clearing row 10 & replacing row 11 with ids 4, 8");
+            store.clear(10);
+            store.setRow(11, new int[] {0, 4, 8}, 1, 2);
+            out.println("Getting degrees of rows 10 & 11 (should be 0 2): " +
+                    store.degree(10) + " " + store.degree(11));
+            out.println("Moving store " + (offHeap ? "onto" : "off") +
+                    " heap & back");
+            store.setOffHeap(!offHeap);
+            store.setOffHeap(offHeap);
+            out.println("Getting total ids (should be 96004): " +
+                    store.getEdgeCount());
+            out.println("Getting largest row degree (should be 2000): " +
+                    store.getMaxDegree());
+            out.println("Checking rows 12 to 59 still complete & sorted " +
+                    "(should be true): " + rowsSorted(store, 12, 60, 2000));
+            out.print("Listing row 2 (should be 1 5): ");
+            printRow(store, 2);
+            out.println();
+        }
+    }
+
+    /* Returns whether imported rows of imported store each hold exactly the
+     *  ids 0 to (imported count - 1) in order
+     */
+    private static boolean rowsSorted(DSAAdjacencyStore store, int fromRow,
+                                      int toRow, int count)
+    {
+        boolean sorted = true;
+
+        for (int row = fromRow; row < toRow; row++)
+        {
+            sorted = sorted && store.degree(row) == count;
+            for (int ii = 0; ii < store.degree(row) && sorted; ii++)
+            {
+                sorted = store.get(row, ii) == ii;
+            }
+        }
+
+        return sorted;
+    }
+
+    private static void printRow(DSAAdjacencyStore store, int row)
+    {
+        for (int ii = 0; ii < store.degree(row); ii++)
+        {
+            out.print(store.get(row, ii) + " ");
+        }
+        out.println();
+    }
+}
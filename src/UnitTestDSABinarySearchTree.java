@@ -137,17 +137,17 @@ public class UnitTestDSABinarySearchTree
         out.println("Getting value of maximum key in tree 0 (should be 199): " + trees[0].max());
         out.println("Getting value of minimum key in tree 3 (should be 001): " + trees[3].min());
         out.println("Getting value of maximum key in tree 3 (should be 010): " + trees[3].max());
-        out.println("Getting height of tree 0 (should be 5?): " + trees[0].height());
+        out.println("Getting height of tree 0 (should be 2): " + trees[0].height());
         out.println("Getting height of tree 1 (should be 0?): " + trees[1].height());
         out.println("Getting height of tree 2 (should be 1?): " + trees[2].height());
-        out.println("Getting height of tree 3 (should be 10?): " + trees[3].height());
+        out.println("Getting height of tree 3 (should be 3 as tree rebalances): " + trees[3].height());
         out.println("Getting count of nodes in tree 0 (should be 7): " + trees[0].count());
         out.println("Getting count of nodes in tree 1 (should be 0): " + trees[1].count());
         out.println("Getting count of nodes in tree 2 (should be 1): " + trees[2].count());
         out.println("Getting count of nodes in tree 3 (should be 10): " + trees[3].count());
-        out.println("Getting balance of tree 0 (should be 20.0): " + trees[0].balance());
+        out.println("Getting balance of tree 0 (should be 100.0): " + trees[0].balance());
         out.println("Getting balance of tree 2 (should be 100): " + trees[2].balance());
-        out.println("Getting balance of tree 3 (should be 0): " + trees[3].balance());
+        out.println("Getting balance of tree 3 (should be 50.0): " + trees[3].balance());
         out.println("Getting balance of tree 1 (should throw exception): ");
         try
         {
@@ -160,6 +160,67 @@ public class UnitTestDSABinarySearchTree
         }
         out.println();
 
+        //Balancing
+        out.println("Adding 100000 increasing keys to new tree (should not overflow stack):");
+        DSABinarySearchTree bigTree = new DSABinarySearchTree();
+        for (int ii = 0; ii < 100000; ii++)
+        {
+            bigTree.insert(String.format("%06d", ii), ii);
+        }
+        out.println("Getting height of large tree (should be 16): " + bigTree.height());
+        out.println("Deleting first 50000 keys from large tree...");
+        for (int ii = 0; ii < 50000; ii++)
+        {
+            bigTree.delete(String.format("%06d", ii));
+        }
+        out.println("Getting height of large tree (should be 15 or less): " + bigTree.height());
+        out.println("Getting min of large tree (should be 050000): " + bigTree.min());
+        out.println("Getting count of large tree (should be 50000): " + bigTree.count());
+        Iterator bigTreeIter = bigTree.iterator();
+        int iterCount = 0;
+        boolean inOrder = true;
+        while (bigTreeIter.hasNext())
+        {
+            if ((Integer) bigTreeIter.next() != 50000 + iterCount)
+            {
+                inOrder = false;
+            }
+            iterCount++;
+        }
+        out.println("Iterating through large tree (should give 50000 values in order): " +
+            iterCount + " values, in order: " + inOrder);
+        out.println();
+
+        //Bulk building
+        out.println("Building new tree from 1000 sorted keys in bulk");
+        String[] sortedKeys = new String[1000];
+        Object[] sortedValues = new Object[1000];
+        for (int ii = 0; ii < 1000; ii++)
+        {
+            sortedKeys[ii] = String.format("%04d", ii);
+            sortedValues[ii] = ii;
+        }
+        DSABinarySearchTree bulkTree = new DSABinarySearchTree();
+        bulkTree.buildFromSorted(sortedKeys, sortedValues, 1000);
+        out.println("Getting height of bulk tree (should be 9): " + bulkTree.height());
+        out.println("Getting count of bulk tree (should be 1000): " + bulkTree.count());
+        out.println("Finding key 0500 in bulk tree (should be 500): " + bulkTree.find("0500"));
+        out.println("Inserting key 1000 into bulk tree & getting max (should be 1000): ");
+        bulkTree.insert("1000", 1000);
+        out.println(bulkTree.max());
+        out.println("Attempting to bulk build tree from unsorted keys (should throw exception):");
+        try
+        {
+            String[] unsortedKeys = {"a", "c", "b"};
+            new DSABinarySearchTree().buildFromSorted(unsortedKeys, new Object[3], 3);
+            out.println("Succeeded (shouldn't have)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("Exception Caught: " + i.getMessage());
+        }
+        out.println();
+
 
         //Iterator
         out.println("Creating iterator for filled binary search tree");
@@ -0,0 +1,65 @@
+/* Test harness for DSABitSet by Moritz Bergemann
+ * Created Date: 17/10/2026
+ */
+
+import static java.lang.System.out;
+public class UnitTestDSABitSet
+{
+    public static void main(String[] args)
+    {
+        out.println("Creating 2 bit sets (default & sized for 1000 bits)");
+        DSABitSet set1 = new DSABitSet();
+        DSABitSet set2 = new DSABitSet(1000);
+        out.println();
+
+        //Set/Get
+        out.println("Adding 0, 5, 63, 64 & 200 to set 1 (200 requires set to grow)");
+        set1.set(0);
+        set1.set(5);
+        set1.set(63);
+        set1.set(64);
+        set1.set(200);
+        out.println("Adding 5 to set 1 again (should do nothing)");
+        set1.set(5);
+        out.println("Checking if set 1 has 63 (should be true): " + set1.get(63));
+        out.println("Checking if set 1 has 200 (should be true): " + set1.get(200));
+        out.println("Checking if set 1 has 6 (should be false): " + set1.get(6));
+        out.println("Checking if set 1 has 5000 (should be false): " + set1.get(5000));
+        out.println("Getting count of set 1 (should be 5): " + set1.getCount());
+        out.println("Checking if empty set 2 is empty (should be true): " + set2.isEmpty());
+        out.println("Attempting to add -1 to set 2 (should throw exception):");
+        try
+        {
+            set2.set(-1);
+            out.println("Succeeded (shouldn't have)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("Exception Caught: " + i.getMessage());
+        }
+        out.println();
+
+        //Next set
+        out.print("Listing set 1 using nextSet (should be 0 5 63 64 200): ");
+        int next = set1.nextSet(0);
+        while (next >= 0)
+        {
+            out.print(next + " ");
+            next = set1.nextSet(next + 1);
+        }
+        out.println();
+        out.println("Getting next set from 65 (should be 200): " + set1.nextSet(65));
+        out.println("Getting next set from 201 (should be -1): " + set1.nextSet(201));
+        out.println();
+
+        //Clear
+        out.println("Removing 64 from set 1");
+        set1.clear(64);
+        out.println("Checking if set 1 has 64 (should be false): " + set1.get(64));
+        out.println("Getting count of set 1 (should be 4): " + set1.getCount());
+        out.println("Removing all values from set 1");
+        set1.clearAll();
+        out.println("Checking if set 1 is empty (should be true): " + set1.isEmpty());
+        out.println("Checking if set 1 has 0 (should be false): " + set1.get(0));
+    }
+}
@@ -143,6 +143,10 @@ public class UnitTestDSAGraph
         out.println("Getting edge count of graph 1 (should be 0): " + graph1.getEdgeCount());
         out.println("Getting edge count of graph 2 (should be 8): " + graph2.getEdgeCount());
         out.println("Getting edge count of graph 3 (should be 0): " + graph3.getEdgeCount());
+        //getStats
+        out.println("Getting statistics of graph 2 (should be 10 vertices, 5 edges, max out-degree 1, " +
+                "max in-degree 2, average degree 0.5, tree height 3):");
+        out.println(graph2.getStats());
 
         //removeVertex
         out.println("Removing edges from graph 2 (should remove also remove all references in adjacency lists)");
@@ -153,6 +157,19 @@ public class UnitTestDSAGraph
 
         out.println("Redisplaying graph 2:");
         graph2.displayAsList();
+        out.println("Getting edge count of graph 2 after removals (should be 1): " + graph2.getEdgeCount());
+        out.println("Removing vertex 'S' with an edge to itself & to 'T' while edges are frozen (should print no " +
+                "errors)");
+        DSAGraph loopGraph = new DSAGraph();
+        loopGraph.addVertex("S", "value S");
+        loopGraph.addVertex("T", "value T");
+        loopGraph.addEdge("S", "S");
+        loopGraph.addEdge("S", "T");
+        loopGraph.addEdge("T", "S");
+        loopGraph.freezeEdges();
+        loopGraph.removeVertex("S");
+        loopGraph.freezeEdges();
+        out.println("Getting edge count after removal (should be 0): " + loopGraph.getEdgeCount());
         out.println();
 
         //Search methods
@@ -0,0 +1,88 @@
+/* Test harness for DSAHashTable by Moritz Bergemann
+ * Created Date: 17/10/2026
+ */
+
+import static java.lang.System.out;
+public class UnitTestDSAHashTable
+{
+    public static void main(String[] args)
+    {
+        out.println("Creating 2 hash tables (default & sized for 1000 entries)");
+        DSAHashTable table1 = new DSAHashTable();
+        DSAHashTable table2 = new DSAHashTable(1000);
+        out.println();
+
+        //Put
+        out.println("Adding 10 entries to table 1:");
+        String[] keys = {"011", "030", "095", "001", "044", "019", "160", "155", "199", "006"};
+        String[] values = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J"};
+        for (int ii = 0; ii < 10; ii++)
+        {
+            out.println("adding key " + keys[ii] + ", value " + values[ii]);
+            table1.put(keys[ii], values[ii]);
+        }
+        out.println("Attempting to add key '044' again (should throw exception):");
+        try
+        {
+            table1.put("044", "Z");
+            out.println("Succeeded (shouldn't have)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("Exception Caught: " + i.getMessage());
+        }
+        out.println();
+
+        //Get/Has
+        out.println("Getting value of key '044' (should be E): " + table1.get("044"));
+        out.println("Getting value of key '006' (should be J): " + table1.get("006"));
+        out.println("Getting value of key '200' (should be null): " + table1.get("200"));
+        out.println("Checking if table 1 has key '160' (should be true): " + table1.has("160"));
+        out.println("Checking if table 1 has key '161' (should be false): " + table1.has("161"));
+        out.println("Checking if empty table 2 has key '160' (should be false): " + table2.has("160"));
+        out.println("Getting count of table 1 (should be 10): " + table1.getCount());
+        out.println();
+
+        //Remove
+        out.println("Removing key '030' from table 1 (should return B): " + table1.remove("030"));
+        out.println("Checking if table 1 has key '030' (should be false): " + table1.has("030"));
+        out.println("Checking table 1 still has key '095' (should be true): " + table1.has("095"));
+        out.println("Attempting to remove key '030' again (should throw exception):");
+        try
+        {
+            table1.remove("030");
+            out.println("Succeeded (shouldn't have)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("Exception Caught: " + i.getMessage());
+        }
+        out.println("Re-adding key '030' with value Y");
+        table1.put("030", "Y");
+        out.println("Getting value of key '030' (should be Y): " + table1.get("030"));
+        out.println("Getting count of table 1 (should be 10): " + table1.getCount());
+        out.println();
+
+        //Resizing
+        out.println("Adding 100000 entries to table 2 & removing every second one...");
+        for (int ii = 0; ii < 100000; ii++)
+        {
+            table2.put("user" + ii, ii);
+        }
+        for (int ii = 0; ii < 100000; ii += 2)
+        {
+            table2.remove("user" + ii);
+        }
+        boolean allCorrect = true;
+        for (int ii = 0; ii < 100000; ii++)
+        {
+            if (table2.has("user" + ii) != (ii % 2 == 1))
+            {
+                allCorrect = false;
+            }
+        }
+        out.println("Getting count of table 2 (should be 50000): " + table2.getCount());
+        out.println("Checking remaining entries are correct (should be true): " + allCorrect);
+        out.println("Getting value of key 'user99999' (should be 99999): " + table2.get("user99999"));
+    }
+}
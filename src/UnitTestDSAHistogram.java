@@ -0,0 +1,87 @@
+/* Test harness for DSAHistogram by Moritz Bergemann
+ * Created Date: 17/10/2026
+ */
+
+import static java.lang.System.out;
+
+public class UnitTestDSAHistogram
+{
+    public static void main(String[] args)
+    {
+        DSAHistogram histogram = new DSAHistogram();
+        DSAHistogram other = new DSAHistogram();
+
+        out.println("Getting percentile of empty histogram (should be 0): " +
+                histogram.getPercentile(50.0));
+        out.println("Recording values 1 to 1000 (values up to 15 are " +
+                "exact, larger ones within 6.25%)");
+        for (int ii = 1; ii <= 1000; ii++)
+        {
+            histogram.record(ii);
+        }
+        out.println("Getting count, min & max (should be 1000 1 1000): " +
+                histogram.getCount() + " " + histogram.getMin() + " " +
+                histogram.getMax());
+        out.println("Getting mean (should be 500.5): " + histogram.getMean());
+        out.println("Getting 1st percentile (should be 10): " +
+                histogram.getPercentile(1.0));
+        out.println("Checking median is 500 to 531 (should be true): " +
+                within(histogram.getPercentile(50.0), 500, 531));
+        out.println("Checking 99th percentile is 990 to 1000 (should be " +
+                "true): " + within(histogram.getPercentile(99.0), 990, 1000));
+        out.println("Getting 100th percentile (should be 1000): " +
+                histogram.getPercentile(100.0));
+        out.println();
+
+        out.println("Recording 0 & 10^12 in second histogram & merging into " +
+                "first");
+        other.record(0);
+        other.record(1000000000000L);
+        histogram.merge(other);
+        out.println("Getting count, min & max (should be 1002 0 " +
+                "1000000000000): " + histogram.getCount() + " " +
+                histogram.getMin() + " " + histogram.getMax());
+        out.println("Checking 99.99th percentile is within 6.25% of 10^12 " +
+                "(should be true): " + within(histogram.getPercentile(99.99),
+                        937500000000L, 1000000000000L));
+        out.println("Recording value above maximum in second histogram " +
+                "(counted as maximum)");
+        other.record(Long.MAX_VALUE);
+        out.println("Getting max (should be " + DSAHistogram.MAX_VALUE + "): " +
+                other.getMax());
+        out.println("Clearing second histogram");
+        other.clear();
+        out.println("Displaying second histogram (should be all 0):");
+        out.println(other);
+        out.println();
+
+        out.println("Attempting to record -1 (should throw exception):");
+        try
+        {
+            histogram.record(-1);
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        out.println("Attempting to get 101st percentile (should throw " +
+                "exception):");
+        try
+        {
+            histogram.getPercentile(101.0);
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+    }
+
+    /* Returns whether imported value is between imported bounds (inclusive)
+     */
+    private static boolean within(long value, long low, long high)
+    {
+        return value >= low && value <= high;
+    }
+}
@@ -3,6 +3,7 @@
  * REFERENCE: This class was adapted from my submission for DSA Prac 3
  */
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.lang.System.load;
 import static java.lang.System.out;
@@ -265,5 +266,122 @@ public class UnitTestDSALinkedList
         iter = sortedList.iterator();
         while (iter.hasNext()) { out.print(iter.next() + " "); }
         out.println();
+        out.println();
+
+        //Sort Stability
+        String[] tiedArr = {"B1", "A1", "B2", "C1", "A2", "C2", "B3", "A3"};
+        DSALinkedList tiedList = new DSALinkedList();
+        for (int ii = 0; ii < 8; ii++)
+        {
+            tiedList.insertLast(new Tied(tiedArr[ii]));
+        }
+        out.println("Sorting list with equal values ascendingly (should be " +
+                "A1 A2 A3 B1 B2 B3 C1 C2):");
+        tiedList.sortAsc();
+        iter = tiedList.iterator();
+        while (iter.hasNext()) { out.print(iter.next() + " "); }
+        out.println();
+        out.println("Sorting it descendingly (should be C1 C2 B1 B2 B3 A1 " +
+                "A2 A3):");
+        tiedList.sortDesc();
+        iter = tiedList.iterator();
+        while (iter.hasNext()) { out.print(iter.next() + " "); }
+        out.println();
+        out.println("Removing last & first elements of sorted list (should " +
+                "be A3 C1): " + tiedList.removeLast() + " " +
+                tiedList.removeFirst());
+        out.println();
+
+        //Parallel Sort
+        ForkJoinPool pool = new ForkJoinPool(4);
+        DSALinkedList bigList = new DSALinkedList();
+        SplittableRandom random = new SplittableRandom(3);
+        Integer prev;
+        boolean ordered = true;
+        for (int ii = 0; ii < 100000; ii++)
+        {
+            bigList.insertLast(Integer.valueOf(random.nextInt(1000)));
+        }
+        out.println("Sorting 100000 random values descendingly using 4 " +
+                "threads");
+        bigList.sortDesc(pool);
+        iter = bigList.iterator();
+        prev = (Integer)iter.next();
+        while (iter.hasNext())
+        {
+            Integer cur = (Integer)iter.next();
+            ordered = ordered && prev.compareTo(cur) >= 0;
+            prev = cur;
+        }
+        out.println("Checking list is in descending order (should be " +
+                "true): " + ordered);
+        out.println("Getting count (should be 100000): " + bigList.getCount());
+        out.println("Checking last element is smallest (should be true): " +
+                (((Integer)bigList.peekLast()).intValue() == prev));
+
+        //Parallel Sort Stability
+        DSALinkedList seqList = new DSALinkedList();
+        DSALinkedList parList = new DSALinkedList();
+        Tied[] seqOrder = new Tied[20000];
+        Iterator parIter;
+        boolean same = true, stable = true, linked = true;
+        for (int ii = 0; ii < 20000; ii++)
+        {
+            //Values with 1 of 5 first characters (so most are equal)
+            Tied curTied = new Tied((char)('A' + random.nextInt(5)) +
+                    String.format("%05d", ii));
+            seqList.insertLast(curTied);
+            parList.insertLast(curTied);
+        }
+        out.println("Sorting 20000 values with 5 distinct keys descendingly, " +
+                "without & with 4 threads");
+        seqList.sortDesc();
+        parList.sortDesc(pool);
+        iter = seqList.iterator();
+        parIter = parList.iterator();
+        for (int ii = 0; ii < 20000; ii++)
+        {
+            seqOrder[ii] = (Tied)iter.next();
+            same = same && seqOrder[ii] == parIter.next();
+            stable = stable && (ii == 0 ||
+                    seqOrder[ii - 1].compareTo(seqOrder[ii]) > 0 ||
+                    seqOrder[ii - 1].toString().compareTo(
+                            seqOrder[ii].toString()) < 0);
+        }
+        out.println("Checking both sorts give the same order (should be " +
+                "true): " + (same && !parIter.hasNext()));
+        out.println("Checking equal values kept their order (should be " +
+                "true): " + stable);
+        for (int ii = 19999; ii >= 0; ii--)
+        {
+            linked = linked && parList.removeLast() == seqOrder[ii];
+        }
+        out.println("Checking removing from end of parallel sorted list " +
+                "gives reverse order (should be true): " +
+                (linked && parList.isEmpty()));
+        pool.shutdown();
+    }
+
+    /* Value compared by its first character only (so values with the same
+     *  first character are equal when sorting)
+     */
+    private static class Tied implements Comparable<Tied>
+    {
+        private String name;
+
+        private Tied(String inName)
+        {
+            name = inName;
+        }
+
+        public int compareTo(Tied other)
+        {
+            return name.charAt(0) - other.name.charAt(0);
+        }
+
+        public String toString()
+        {
+            return name;
+        }
     }
 }
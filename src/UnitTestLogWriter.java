@@ -0,0 +1,122 @@
+/* Test harness for LogWriter & AsyncLogWriter by Moritz Bergemann
+ * Created Date: 17/10/2026
+ */
+
+import static java.lang.System.out;
+import java.io.File;
+import java.util.*;
+
+public class UnitTestLogWriter
+{
+    public static final String TEST_FILE = "testLogWriter.txt";
+
+    public static void main(String[] args)
+    {
+        DSALinkedList lines;
+
+        //List mode
+        out.println("Creating log writer writing to list & writing 2 timesteps");
+        LogWriter listWriter = new LogWriter();
+        writeSteps(listWriter, 2, 3);
+        out.print("Listing lines (should be 0.0 0.1 0.2 1.0 1.1 1.2): ");
+        printLines(listWriter.getLines());
+        out.println();
+
+        //File mode
+        out.println("Creating log writer writing to file & writing 3 timesteps");
+        LogWriter fileWriter = new LogWriter(TEST_FILE, false, 2);
+        writeSteps(fileWriter, 3, 2);
+        fileWriter.close();
+        out.print("Reading file (should be 0.0 0.1 1.0 1.1 2.0 2.1): ");
+        printLines(FileManager.readFile(TEST_FILE));
+        out.println("Attempting to get lines of file writer (should throw " +
+                "exception):");
+        try
+        {
+            fileWriter.getLines();
+            out.println("Succeeded (shouldn't have)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("Exception Caught: " + i.getMessage());
+        }
+        out.println();
+
+        //Async mode
+        out.println("Creating async log writer with queue of 1 & writing 200 " +
+                "timesteps of 50 lines");
+        LogWriter asyncWriter = new AsyncLogWriter(TEST_FILE, false, 10, 1);
+        writeSteps(asyncWriter, 200, 50);
+        out.println("Writing unfinished timestep (line 'last') & closing");
+        asyncWriter.writeLine("last");
+        asyncWriter.close();
+        lines = FileManager.readFile(TEST_FILE);
+        out.println("Getting number of lines in file (should be 10001): " +
+                lines.getCount());
+        out.println("Checking lines are in order written (should be true): " +
+                inOrder(lines, 200, 50));
+        out.println("Closing async log writer again (should do nothing)");
+        asyncWriter.close();
+        out.println("Attempting to create async log writer with queue of 0 " +
+                "(should throw exception):");
+        try
+        {
+            new AsyncLogWriter(TEST_FILE, false, 10, 0);
+            out.println("Succeeded (shouldn't have)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("Exception Caught: " + i.getMessage());
+        }
+
+        new File(TEST_FILE).delete();
+    }
+
+    /* Writes imported number of timesteps, each made up of imported number of
+     *  lines "<step>.<line>", to imported log writer
+     */
+    private static void writeSteps(LogWriter writer, int steps, int stepLines)
+    {
+        for (int ii = 0; ii < steps; ii++)
+        {
+            for (int jj = 0; jj < stepLines; jj++)
+            {
+                writer.writeLine(ii + "." + jj);
+            }
+            writer.endTimeStep();
+        }
+    }
+
+    /* Returns whether imported lines are exactly those written by writeSteps
+     *  followed by line "last"
+     */
+    private static boolean inOrder(DSALinkedList lines, int steps,
+                                   int stepLines)
+    {
+        Iterator iter = lines.iterator();
+        boolean inOrder = true;
+
+        for (int ii = 0; ii < steps; ii++)
+        {
+            for (int jj = 0; jj < stepLines; jj++)
+            {
+                if (!iter.hasNext() || !iter.next().equals(ii + "." + jj))
+                {
+                    inOrder = false;
+                }
+            }
+        }
+
+        return inOrder && iter.hasNext() && iter.next().equals("last");
+    }
+
+    private static void printLines(DSALinkedList lines)
+    {
+        Iterator iter = lines.iterator();
+        while (iter.hasNext())
+        {
+            out.print(iter.next() + " ");
+        }
+        out.println();
+    }
+}
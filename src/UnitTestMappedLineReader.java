@@ -0,0 +1,95 @@
+/* Test harness for MappedLineReader by Moritz Bergemann
+ * Created Date: 17/10/2026
+ */
+
+import static java.lang.System.out;
+import java.io.*;
+
+public class UnitTestMappedLineReader
+{
+    public static final String TEST_FILE = "testMappedReader.txt";
+
+    public static void main(String[] args) throws IOException
+    {
+        MappedLineReader reader;
+        String contents = "first\nsecond: line\r\n\n  padded  \nlast";
+
+        out.println("Writing test file with 5 lines (windows line break on " +
+                "line 2, empty line 3 & no line break after line 5)");
+        Writer writer = new FileWriter(TEST_FILE);
+        writer.write(contents);
+        writer.close();
+        out.println();
+
+        //Whole file
+        out.println("Reading whole file (should be [first] [second: line] [] " +
+                "[  padded  ] [last]):");
+        reader = FileManager.openMappedFile(TEST_FILE);
+        while (reader.nextLine())
+        {
+            out.print("[" + reader.getLine() + "] ");
+        }
+        out.println();
+        out.println("Getting number of lines read (should be 5): " +
+                reader.getLineNum());
+        reader.close();
+        out.println();
+
+        //Slices
+        reader = new MappedLineReader(TEST_FILE);
+        reader.nextLine();
+        reader.nextLine();
+        out.println("Reading line 2 again as slices");
+        out.println("Getting length of line (should be 12): " + reader.length());
+        out.println("Getting index of ':' (should be 6): " +
+                reader.indexOf(':', 0));
+        out.println("Getting index of ':' after index 7 (should be -1): " +
+                reader.indexOf(':', 7));
+        out.println("Getting trimmed text after ':' (should be [line]): [" +
+                reader.getTrimmedString(7, reader.length()) + "]");
+        reader.nextLine();
+        reader.nextLine();
+        out.println("Getting trimmed line 4 (should be [padded]): [" +
+                reader.getTrimmedString(0, reader.length()) + "]");
+        reader.close();
+        out.println();
+
+        //Ranges
+        out.println("Reading file as byte ranges of 4 bytes (should list " +
+                "every line once, in order):");
+        for (int start = 0; start < contents.length(); start += 4)
+        {
+            reader = new MappedLineReader(TEST_FILE, start, start + 4);
+            while (reader.nextLine())
+            {
+                out.print("[" + reader.getLine() + "] ");
+            }
+            reader.close();
+        }
+        out.println();
+        out.println("Attempting to read range with end before start (should " +
+                "throw exception):");
+        try
+        {
+            new MappedLineReader(TEST_FILE, 5, 2);
+            out.println("Succeeded (shouldn't have)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("Exception Caught: " + i.getMessage());
+        }
+        out.println("Attempting to read file that does not exist (should " +
+                "throw exception):");
+        try
+        {
+            new MappedLineReader("doesNotExist.txt");
+            out.println("Succeeded (shouldn't have)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("Exception Caught: " + i.getMessage());
+        }
+
+        new File(TEST_FILE).delete();
+    }
+}
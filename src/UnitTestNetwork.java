@@ -117,6 +117,12 @@ public class UnitTestNetwork
         {
             out.println("Exception caught:" + i.getMessage());
         }
+        out.println("Displaying record of user2 (was followed by user3, " +
+                "should have 1 follower):");
+        out.println(network1.getUserInfo("user2"));
+        out.println("Displaying record of user1 (was following user3, " +
+                "should be following 2):");
+        out.println(network1.getUserInfo("user1"));
         out.println();
 
 
@@ -255,6 +261,8 @@ public class UnitTestNetwork
 
         //AllStale
         out.println("Checking if all posts in network 1 are stale (shouldn't be) :" + network1.allPostsStale());
+        out.println("Getting number of active posts in network 1 (should be " + network1.getPostCount() + "): " +
+                network1.getActivePostCount());
         out.println();
 
         //Timestep
@@ -270,6 +278,8 @@ public class UnitTestNetwork
         out.println();
 
         out.println("Checking if all posts in network 1 are stale after timesteps (should be) :" + network1.allPostsStale());
+        out.println("Getting number of active posts in network 1 after timesteps (should be 0): " +
+                network1.getActivePostCount());
         out.println();
 
         out.println("Redisplaying network 1 (after timesteps):");
@@ -278,5 +288,180 @@ public class UnitTestNetwork
         out.println();
         out.println();
 
+        //Parallel timestep
+        out.println("Creating ring of 20 users in network 3 (each following the previous)");
+        for (int ii = 0; ii < 20; ii++)
+        {
+            network3.addUser(String.format("p%02d", ii));
+        }
+        for (int ii = 0; ii < 20; ii++)
+        {
+            network3.addFollower(String.format("p%02d", (ii + 1) % 20), String.format("p%02d", ii));
+        }
+        out.println("Setting network 3 to use 4 threads with like & follow probabilities of 1.0");
+        network3.setThreadCount(4);
+        network3.setLikeChance(1.0);
+        network3.setFollowChance(1.0);
+        out.println("Attempting to set thread count of network 2 to 0");
+        try
+        {
+            network2.setThreadCount(0);
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        out.println("Making posts by p00, p05, p10 & p15 in network 3 & running timesteps until all stale");
+        for (int ii = 0; ii < 20; ii += 5)
+        {
+            network3.makePost(String.format("p%02d", ii), "ring post " + ii, 1.0);
+        }
+        while (!network3.allPostsStale())
+        {
+            network3.timeStep();
+        }
+        out.println("Displaying network 3's posts (each should have 19 likes):");
+        postIter = network3.getPostsByLikes().iterator();
+        while (postIter.hasNext()) { out.println(postIter.next()); }
+        out.println("Displaying record of p05 (should have 19 followers): ");
+        out.println(network3.getUserInfo("p05"));
+        out.println();
+
+        //Seeded random chances
+        out.println("Creating 2 identical ring networks with like chance 0.5, seeded with 42");
+        Network[] seeded = new Network[2];
+        for (int nn = 0; nn < 2; nn++)
+        {
+            seeded[nn] = new Network();
+            seeded[nn].setSeed(42);
+            for (int ii = 0; ii < 20; ii++)
+            {
+                seeded[nn].addUser(String.format("p%02d", ii));
+            }
+            for (int ii = 0; ii < 20; ii++)
+            {
+                for (int jj = 1; jj <= 3; jj++)
+                {
+                    seeded[nn].addFollower(String.format("p%02d", (ii + jj) % 20), String.format("p%02d", ii));
+                }
+            }
+            seeded[nn].makePost("p00", "seeded post", 1.0);
+            while (!seeded[nn].allPostsStale())
+            {
+                seeded[nn].timeStep();
+            }
+        }
+        String seededPosts1 = seeded[0].getPostsByLikes().peekFirst().toString();
+        String seededPosts2 = seeded[1].getPostsByLikes().peekFirst().toString();
+        out.println("Checking both networks gave same result (should be true): " + seededPosts1.equals(seededPosts2));
+        out.println();
+
+        //Changing relationships between timesteps
+        out.println("Creating chain network a <- b <- c (b follows a, c follows b) with like chance 1.0 & running 1 timestep");
+        Network chain = new Network();
+        chain.setLikeChance(1.0);
+        chain.setFollowChance(0.0);
+        chain.addUser("a"); chain.addUser("b"); chain.addUser("c"); chain.addUser("d");
+        chain.addFollower("b", "a");
+        chain.addFollower("c", "b");
+        chain.timeStep();
+        out.println("Making d follow b & removing c, then recording metrics, posting by a & running until all stale");
+        chain.addFollower("d", "b");
+        chain.removeUser("c");
+        chain.setMetricsEnabled(true);
+        chain.makePost("a", "chain post", 1.0);
+        while (!chain.allPostsStale())
+        {
+            chain.timeStep();
+        }
+        out.println("Displaying post (should be liked by b & d only):");
+        out.println(chain.getPostsByLikes().peekFirst());
+        NetworkMetrics chainMetrics = chain.getMetrics();
+        out.println("Getting likes, shares, users reached, seen checks, follows & stale posts (should be 2 3 2 2 0 1): " +
+                chainMetrics.getLikes() + " " + chainMetrics.getShares() + " " + chainMetrics.getDeliveries() + " " +
+                chainMetrics.getSeenChecks() + " " + chainMetrics.getFollows() + " " + chainMetrics.getStalePosts());
+        out.println("Getting share fan-out (should be count 3, min 0, max 1):");
+        out.println(chainMetrics.getFanOut());
+        out.println("Getting number of timesteps timed (should be 2): " + chainMetrics.getTimeStepNanos().getCount());
+        chain.setMetricsEnabled(false);
+        out.println("Checking metrics are gone once disabled (should be true): " + (chain.getMetrics() == null));
+        out.println();
+
+        //Bulk building
+        out.println("Building ring network 3 again in bulk from user & relationship arrays");
+        String[] ringNames = new String[20];
+        int[] ringFollowed = new int[60];
+        int[] ringFollowers = new int[60];
+        for (int ii = 0; ii < 20; ii++)
+        {
+            ringNames[ii] = String.format("p%02d", (ii * 7) % 20);
+        }
+        for (int ii = 0; ii < 60; ii++)
+        {
+            ringFollowed[ii] = ii % 20;
+            ringFollowers[ii] = (ii + 7 * (ii / 20 + 1)) % 20;
+        }
+        Network bulkNetwork = new Network(ringNames, ringFollowed, ringFollowers);
+        Network addedNetwork = new Network();
+        for (int ii = 0; ii < 20; ii++)
+        {
+            addedNetwork.addUser(ringNames[ii]);
+        }
+        for (int ii = 0; ii < 60; ii++)
+        {
+            addedNetwork.addFollower(ringNames[ringFollowers[ii]], ringNames[ringFollowed[ii]]);
+        }
+        out.println("Checking bulk network matches network built one relationship at a time (should be true): " +
+                (sameLines(NetworkManager.saveNetwork(bulkNetwork), NetworkManager.saveNetwork(addedNetwork)) &&
+                sameLines(bulkNetwork.getUsersByFollowers(), addedNetwork.getUsersByFollowers())));
+        out.println("Attempting to bulk build network with repeated relationship (should throw exception):");
+        try
+        {
+            new Network(new String[] {"a", "b"}, new int[] {0, 0}, new int[] {1, 1});
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        out.println("Attempting to bulk build network with user following themselves (should throw exception):");
+        try
+        {
+            new Network(new String[] {"a", "b"}, new int[] {1}, new int[] {1});
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        out.println("Attempting to bulk build network with more followed than follower ids (should throw exception):");
+        try
+        {
+            new Network(new String[] {"a", "b"}, new int[] {0, 1}, new int[] {1});
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        out.println();
+
+    }
+
+    /* Returns whether the 2 imported lists of strings contain the same lines
+     */
+    private static boolean sameLines(DSALinkedList list1, DSALinkedList list2)
+    {
+        boolean same = list1.getCount() == list2.getCount();
+        java.util.Iterator iter1 = list1.iterator();
+        java.util.Iterator iter2 = list2.iterator();
+
+        while (same && iter1.hasNext())
+        {
+            same = iter1.next().equals(iter2.next());
+        }
+
+        return same;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,189 @@
+/* Test harness for NetworkGenerator by Moritz Bergemann
+ * Created Date: 17/10/2026
+ */
+
+import static java.lang.System.out;
+
+public class UnitTestNetworkGenerator
+{
+    public static void main(String[] args)
+    {
+        NetworkGenerator generator;
+        LogWriter netWriter, eventWriter;
+        Network network;
+        int maxFollows, maxFollowed;
+        int[] followed;
+        int[] follows;
+
+        out.println("Creating generator for 2000 users following 8 users on " +
+                "average (seeded with 5)");
+        generator = new NetworkGenerator(2000, 8.0);
+        generator.setSeed(5);
+        generator.setEventRates(4.0, 2.0, 2.0, 1.0, 1.0);
+        generator.setClickbait(0.5, 2.0);
+
+        out.println("Writing network & 1000 events to memory");
+        netWriter = new LogWriter();
+        generator.writeNetwork(netWriter);
+        eventWriter = new LogWriter();
+        generator.writeEvents(eventWriter, 1000);
+        out.println("Getting number of event lines (should be 1000): " +
+                eventWriter.getLines().getCount());
+
+        out.println("Checking network is the same when written again " +
+                "(should be true): " + sameLines(netWriter,
+                        writeNetwork(2000, 8.0, 5)));
+        out.println("Checking network differs with another seed (should be " +
+                "false): " + sameLines(netWriter, writeNetwork(2000, 8.0, 6)));
+
+        out.println("Loading network & applying events (should print no " +
+                "errors)");
+        network = NetworkManager.loadNetwork(netWriter.getLines());
+        out.println("Getting number of users (should be 2000): " +
+                network.getVertexCount());
+        out.println("Checking mean follows is between 5 & 9 (should be " +
+                "true): " + (network.getEdgeCount() >= 5 * 2000 &&
+                        network.getEdgeCount() <= 9 * 2000));
+        NetworkManager.applyEvents(network, eventWriter.getLines());
+
+        //Degree skew
+        followed = new int[2000];
+        maxFollows = 0;
+        for (int ii = 0; ii < 2000; ii++)
+        {
+            follows = generator.initialFollows(ii);
+            maxFollows = Math.max(maxFollows, follows.length);
+            for (int jj = 0; jj < follows.length; jj++)
+            {
+                followed[follows[jj]]++;
+            }
+        }
+        maxFollowed = 0;
+        for (int ii = 0; ii < 2000; ii++)
+        {
+            maxFollowed = Math.max(maxFollowed, followed[ii]);
+        }
+        out.println("Checking most followed user has over 10 times the mean " +
+                "followers (should be true): " + (maxFollowed > 80));
+        out.println("Checking user following most users follows over 5 " +
+                "times the mean (should be true): " + (maxFollows > 40));
+        out.println();
+
+        //Repeated follows & unfollows of the same pairs
+        out.println("Writing 2000 follow & unfollow events for 20 users " +
+                "following 3 users on average (seeded with 5)");
+        generator = new NetworkGenerator(20, 3.0);
+        generator.setSeed(5);
+        generator.setEventRates(0.0, 1.0, 1.0, 0.0, 0.0);
+        netWriter = new LogWriter();
+        generator.writeNetwork(netWriter);
+        eventWriter = new LogWriter();
+        generator.writeEvents(eventWriter, 2000);
+        out.println("Getting number of event lines (should be 2000): " +
+                eventWriter.getLines().getCount());
+        out.println("Checking a pair is followed, unfollowed & followed " +
+                "again (should be true): " + hasHistory(eventWriter, "FUF"));
+        out.println("Checking a pair is unfollowed, followed & unfollowed " +
+                "again (should be true): " + hasHistory(eventWriter, "UFU"));
+        out.println("Loading network & applying events (should print no " +
+                "errors)");
+        network = NetworkManager.loadNetwork(netWriter.getLines());
+        NetworkManager.applyEvents(network, eventWriter.getLines());
+        out.println();
+
+        out.println("Attempting to create generator with 1 user (should " +
+                "throw exception):");
+        try
+        {
+            new NetworkGenerator(1, 0.0);
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        out.println("Attempting to set exponent to 2 (should throw " +
+                "exception):");
+        try
+        {
+            generator.setExponent(2.0);
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        out.println("Attempting to set all event rates to 0 (should throw " +
+                "exception):");
+        try
+        {
+            generator.setEventRates(0.0, 0.0, 0.0, 0.0, 0.0);
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+    }
+
+    /* Returns writer holding network written by a generator with imported
+     *  settings
+     */
+    private static LogWriter writeNetwork(int users, double follows,
+                                          long seed)
+    {
+        NetworkGenerator generator = new NetworkGenerator(users, follows);
+        LogWriter writer = new LogWriter();
+
+        generator.setSeed(seed);
+        generator.writeNetwork(writer);
+
+        return writer;
+    }
+
+    /* Returns whether the imported writer's follow ('F') & unfollow ('U')
+     *  events of any one pair of users contain the imported sequence of event
+     *  types
+     */
+    private static boolean hasHistory(LogWriter writer, String sequence)
+    {
+        DSAHashTable histories = new DSAHashTable();
+        java.util.Iterator lineIter = writer.getLines().iterator();
+        String line, pair, history;
+        boolean found = false;
+
+        while (!found && lineIter.hasNext())
+        {
+            line = (String)lineIter.next();
+            if (line.startsWith("F:") || line.startsWith("U:"))
+            {
+                pair = line.substring(2);
+                history = histories.has(pair) ?
+                        (String)histories.remove(pair) : "";
+                history += line.charAt(0);
+                histories.put(pair, history);
+                found = history.indexOf(sequence) != -1;
+            }
+        }
+
+        return found;
+    }
+
+    /* Returns whether the 2 imported writers hold the same lines
+     */
+    private static boolean sameLines(LogWriter writer1, LogWriter writer2)
+    {
+        DSALinkedList list1 = writer1.getLines();
+        DSALinkedList list2 = writer2.getLines();
+        boolean same = list1.getCount() == list2.getCount();
+        java.util.Iterator iter1 = list1.iterator();
+        java.util.Iterator iter2 = list2.iterator();
+
+        while (same && iter1.hasNext())
+        {
+            same = iter1.next().equals(iter2.next());
+        }
+
+        return same;
+    }
+}
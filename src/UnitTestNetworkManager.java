@@ -62,5 +62,205 @@ public class UnitTestNetworkManager
         DSALinkedList reloadedFile = FileManager.readFile("NetworkTestOut.txt");
         Network reloadedNetwork = NetworkManager.loadNetwork(reloadedFile);
         reloadedNetwork.displayAsList();
+        out.println();
+
+        //Delta logs
+        out.println("Reading network 'netfile2.txt' & events 'eventsfile2-2.txt' twice (seeded with 3)");
+        Network[] deltaNetworks = new Network[2];
+        for (int ii = 0; ii < 2; ii++)
+        {
+            deltaNetworks[ii] = NetworkManager.loadNetwork(networkFile2);
+            deltaNetworks[ii].setSeed(3);
+            NetworkManager.applyEvents(deltaNetworks[ii], eventsFile2_2);
+        }
+        out.println("Running both networks until all posts are stale, logging second as delta log");
+        deltaNetworks[1].setRecordChanges(true);
+        DSALinkedList deltaLog = NetworkManager.logTimeStepDelta(deltaNetworks[1]);
+        DSALinkedList midFullLog = null;
+        while (!deltaNetworks[0].allPostsStale())
+        {
+            deltaNetworks[0].timeStep();
+            deltaNetworks[1].timeStep();
+            deltaLog.append(NetworkManager.logTimeStepDelta(deltaNetworks[1]));
+            if (deltaNetworks[0].getCurTime() == 2)
+            {
+                midFullLog = NetworkManager.logTimeStep(deltaNetworks[0]);
+            }
+        }
+        DSALinkedList finalFullLog = NetworkManager.logTimeStep(deltaNetworks[0]);
+        out.println("Delta log has " + deltaLog.getCount() + " lines");
+        out.println("Checking network rebuilt from delta log at timestep 2 gives same log (should be true): " +
+                sameLines(midFullLog, NetworkManager.logTimeStep(NetworkManager.rebuildNetwork(deltaLog, 2))));
+        out.println("Checking network rebuilt from delta log at final timestep gives same log (should be true): " +
+                sameLines(finalFullLog, NetworkManager.logTimeStep(NetworkManager.rebuildNetwork(deltaLog,
+                        deltaNetworks[0].getCurTime()))));
+        out.println("Attempting to rebuild network from delta log without checkpoint (should throw exception):");
+        try
+        {
+            DSALinkedList noCheckpointLog = new DSALinkedList();
+            noCheckpointLog.insertLast("TIMESTEP 1 DELTA:");
+            NetworkManager.rebuildNetwork(noCheckpointLog, 1);
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        out.println();
+
+        //Binary snapshots
+        out.println("Saving final network as binary snapshot 'testSnapshot.bin' & loading it back");
+        NetworkManager.saveSnapshot(deltaNetworks[0], "testSnapshot.bin");
+        Network snapshotNetwork = NetworkManager.loadSnapshot("testSnapshot.bin");
+        out.println("Checking loaded network has same users & relationships (should be true): " +
+                sameLines(NetworkManager.saveNetwork(deltaNetworks[0]), NetworkManager.saveNetwork(snapshotNetwork)));
+        out.println("Checking loaded network has same user counters (should be true): " +
+                sameLines(deltaNetworks[0].getUsersByFollowers(), snapshotNetwork.getUsersByFollowers()));
+        out.println("Checking loaded network has same time (should be true): " +
+                (deltaNetworks[0].getCurTime() == snapshotNetwork.getCurTime()));
+        out.println("Attempting to load text network file as snapshot (should throw exception):");
+        try
+        {
+            NetworkManager.loadSnapshot("netfile2.txt");
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        new java.io.File("testSnapshot.bin").delete();
+        out.println();
+
+        //Memory-mapped network file loading
+        out.println("Loading 'netfile1.txt' & 'netfile2.txt' through memory-mapped reader");
+        out.println("Checking network 1 matches network loaded from line list (should be true): " +
+                sameLines(NetworkManager.saveNetwork(NetworkManager.loadNetwork(networkFile1)),
+                        NetworkManager.saveNetwork(NetworkManager.loadNetworkFile("netfile1.txt"))));
+        out.println("Checking network 2 matches network loaded from line list (should be true): " +
+                sameLines(NetworkManager.saveNetwork(NetworkManager.loadNetwork(networkFile2)),
+                        NetworkManager.saveNetwork(NetworkManager.loadNetworkFile("netfile2.txt"))));
+        String[][] invalidFiles = {
+                {"A", "B", "A:B:C"},
+                {"A", "B", ":B"},
+                {"A", "", "B"},
+                {"A", "B", "A:C"},
+                {"A", "B", "A:B", "A:B"},
+                {"A", "B", "A: B \r", "A:"},
+                {"A", "B:A", "B", "B:A"},
+                {"A", "B", "C", "A:B", "C:C", "A:B", "D:A", "A:D", "A", "D"}};
+        for (int ii = 0; ii < invalidFiles.length; ii++)
+        {
+            DSALinkedList invalidList = new DSALinkedList();
+            for (int jj = 0; jj < invalidFiles[ii].length; jj++)
+            {
+                invalidList.insertLast(invalidFiles[ii][jj]);
+            }
+            FileManager.writeFile("testNetfile.txt", invalidList, false);
+            out.println("Loading invalid network file " + (ii + 1) + " 3 ways (should give same exception):");
+            out.println("\tList: " + loadError(invalidList, 0));
+            out.println("\tMapped: " + loadError(null, 0));
+            out.println("\tParallel: " + loadError(null, 3));
+        }
+        new java.io.File("testNetfile.txt").delete();
+        out.println();
+
+        //Parallel network file loading
+        out.println("Loading 'netfile2.txt' & 'rFiles/netfile1000U1000F.txt' in parallel with 4 threads");
+        out.println("Checking network 2 matches network loaded sequentially (should be true): " +
+                sameNetwork(NetworkManager.loadNetworkFile("netfile2.txt"),
+                        NetworkManager.loadNetworkParallel("netfile2.txt", 4)));
+        out.println("Checking 1000 user network matches network loaded sequentially (should be true): " +
+                sameNetwork(NetworkManager.loadNetworkFile("rFiles/netfile1000U1000F.txt"),
+                        NetworkManager.loadNetworkParallel("rFiles/netfile1000U1000F.txt", 4)));
+        out.println("Attempting to load network in parallel with 0 threads (should throw exception):");
+        try
+        {
+            NetworkManager.loadNetworkParallel("netfile2.txt", 0);
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        out.println();
+
+        //Streaming event application
+        out.println("Applying 'eventsfile2-2.txt' to network 2 as it is read (seeded with 3)");
+        Network streamNetwork = NetworkManager.loadNetworkFile("netfile2.txt");
+        streamNetwork.setSeed(3);
+        NetworkManager.applyEventsFile(streamNetwork, "eventsfile2-2.txt");
+        Network listNetwork = NetworkManager.loadNetwork(networkFile2);
+        listNetwork.setSeed(3);
+        NetworkManager.applyEvents(listNetwork, eventsFile2_2);
+        out.println("Checking network matches network with events applied from line list (should be true): " +
+                sameLines(NetworkManager.logTimeStep(listNetwork), NetworkManager.logTimeStep(streamNetwork)));
+        DSALinkedList invalidEvents = new DSALinkedList();
+        invalidEvents.insertLast("A:Z");
+        invalidEvents.insertLast("");
+        invalidEvents.insertLast("F:Z");
+        invalidEvents.insertLast("P:Nobody:post");
+        invalidEvents.insertLast("A:Y");
+        FileManager.writeFile("testEvents.txt", invalidEvents, false);
+        out.println("Streaming events file with invalid lines 2-4 (should print errors for lines 2, 3 & 4):");
+        NetworkManager.applyEventsFile(streamNetwork, "testEvents.txt");
+        out.println("Checking valid lines 1 & 5 were applied (should be true): " +
+                (streamNetwork.hasVertex("Z") && streamNetwork.hasVertex("Y")));
+        new java.io.File("testEvents.txt").delete();
+    }
+
+    /* Returns message of exception thrown loading imported network file lines
+     *  (or 'testNetfile.txt' through the mapped reader if list is null, in
+     *  parallel with imported number of threads if above 0)
+     */
+    private static String loadError(DSALinkedList lines, int threadCount)
+    {
+        String message = "No exception (SHOULD HAVE)";
+
+        try
+        {
+            if (lines != null)
+            {
+                NetworkManager.loadNetwork(lines);
+            }
+            else if (threadCount > 0)
+            {
+                NetworkManager.loadNetworkParallel("testNetfile.txt", threadCount);
+            }
+            else
+            {
+                NetworkManager.loadNetworkFile("testNetfile.txt");
+            }
+        }
+        catch (IllegalArgumentException i)
+        {
+            message = i.getMessage();
+        }
+
+        return message;
+    }
+
+    /* Returns whether the 2 imported networks have the same users,
+     *  relationships & user counters
+     */
+    private static boolean sameNetwork(Network network1, Network network2)
+    {
+        return sameLines(NetworkManager.saveNetwork(network1), NetworkManager.saveNetwork(network2)) &&
+                sameLines(network1.getUsersByFollowers(), network2.getUsersByFollowers());
+    }
+
+    /* Returns whether the 2 imported lists of strings contain the same lines
+     */
+    private static boolean sameLines(DSALinkedList list1, DSALinkedList list2)
+    {
+        boolean same = list1.getCount() == list2.getCount();
+        java.util.Iterator iter1 = list1.iterator();
+        java.util.Iterator iter2 = list2.iterator();
+
+        while (same && iter1.hasNext())
+        {
+            same = iter1.next().equals(iter2.next());
+        }
+
+        return same;
     }
 }
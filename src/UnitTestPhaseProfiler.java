@@ -0,0 +1,135 @@
+/* Test harness for PhaseProfiler by Moritz Bergemann
+ * Created Date: 17/10/2026
+ */
+
+import static java.lang.System.out;
+import java.util.Iterator;
+
+public class UnitTestPhaseProfiler
+{
+    public static void main(String[] args)
+    {
+        PhaseProfiler profiler = new PhaseProfiler();
+        LogWriter writer;
+        Iterator lineIter;
+        String[] fields;
+        long sum = 0;
+
+        out.println("Measuring phase 'sleep' (sleeps 50ms) & phase " +
+                "'allocate' (allocates 10 1MB arrays)");
+        profiler.start("sleep");
+        try
+        {
+            Thread.sleep(50);
+        }
+        catch (InterruptedException i)
+        {
+            out.println("Interrupted");
+        }
+        profiler.stop();
+        profiler.start("allocate");
+        for (int ii = 0; ii < 10; ii++)
+        {
+            sum += new byte[1024 * 1024].length;
+        }
+        profiler.stop();
+        out.println("Measuring phase 'worker' (a thread spins for 200ms of " +
+                "CPU time then ends)");
+        profiler.start("worker");
+        Thread worker = new Thread()
+        {
+            public void run()
+            {
+                java.lang.management.ThreadMXBean threads =
+                        java.lang.management.ManagementFactory
+                                .getThreadMXBean();
+                long start = threads.getCurrentThreadCpuTime();
+
+                while (threads.getCurrentThreadCpuTime() - start < 200000000L)
+                {
+                    //Spinning
+                }
+            }
+        };
+        worker.start();
+        try
+        {
+            worker.join();
+        }
+        catch (InterruptedException i)
+        {
+            out.println("Interrupted");
+        }
+        profiler.stop();
+        out.println("Getting number of phases (should be 3): " +
+                profiler.getPhaseCount());
+
+        writer = new LogWriter();
+        profiler.writeReport(writer, false);
+        lineIter = writer.getLines().iterator();
+        out.println("CSV header (should be " + PhaseProfiler.CSV_HEADER +
+                "): " + lineIter.next());
+        fields = ((String)lineIter.next()).split(",");
+        out.println("Checking 'sleep' wall time is at least 50ms (should be " +
+                "true): " + (Double.parseDouble(fields[1]) >= 50.0));
+        out.println("Checking 'sleep' CPU time is under 50ms (should be " +
+                "true): " + (Double.parseDouble(fields[2]) < 50.0));
+        fields = ((String)lineIter.next()).split(",");
+        out.println("Checking 'allocate' allocated at least " + sum +
+                " bytes (should be true): " +
+                (Long.parseLong(fields[3]) >= sum));
+        fields = ((String)lineIter.next()).split(",");
+        out.println("Checking 'worker' CPU time includes the ended thread's " +
+                "200ms (should be true): " +
+                (Double.parseDouble(fields[2]) >= 190.0));
+
+        writer = new LogWriter();
+        profiler.writeReport(writer, true);
+        out.println("JSON report (should be array of 3 phase objects, " +
+                "values not shown):");
+        lineIter = writer.getLines().iterator();
+        while (lineIter.hasNext())
+        {
+            String line = (String)lineIter.next();
+            out.println((line.indexOf(':') == -1) ? line :
+                    line.substring(0, line.indexOf(':')));
+        }
+        out.println();
+
+        out.println("Attempting to stop with no phase running (should throw " +
+                "exception):");
+        try
+        {
+            profiler.stop();
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        out.println("Attempting to start phase while 'a' is running (should " +
+                "throw exception):");
+        profiler.start("a");
+        try
+        {
+            profiler.start("b");
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+        profiler.stop();
+        out.println("Attempting to start phase named 'a,b' (should throw " +
+                "exception):");
+        try
+        {
+            profiler.start("a,b");
+            out.println("\tSucceeded (SHOULDN'T HAVE)");
+        }
+        catch (IllegalArgumentException i)
+        {
+            out.println("\tException caught: " + i.getMessage());
+        }
+    }
+}